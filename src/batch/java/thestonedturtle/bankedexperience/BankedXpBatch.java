@@ -0,0 +1,252 @@
+package thestonedturtle.bankedexperience;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Skill;
+import thestonedturtle.bankedexperience.data.Activity;
+import thestonedturtle.bankedexperience.data.ExperienceItem;
+import thestonedturtle.bankedexperience.engine.BankedXpEngine;
+import thestonedturtle.bankedexperience.engine.BankedXpInput;
+import thestonedturtle.bankedexperience.engine.BankedXpResult;
+import thestonedturtle.bankedexperience.util.IntIntMap;
+
+/**
+ * Calculates the banked experience of many accounts without a client.
+ * <p>
+ * Every file is a bank dump of one account holding an item id and quantity per line, separated by a comma, colon or
+ * whitespace. Lines starting with # are skipped. Directories are searched for .txt and .csv dumps, dumps that can't be
+ * read are logged and skipped.
+ * <p>
+ * Plan codes and saved profiles are not read. Every account is calculated with the default activities, the first
+ * activity of every item without level requirements, modifiers, boosts or ignored items, like a fresh profile.
+ * <p>
+ * Usage: gradlew batch --args="[--out totals.csv] [--threads n] [--no-cascade] dumps..."
+ * <p>
+ * Invalid arguments print the usage and exit with status 2.
+ */
+@Slf4j
+public class BankedXpBatch
+{
+	private static final String SEPARATORS = "[,:\\s]+";
+
+	private static final String USAGE =
+		"Usage: gradlew batch --args=\"[--out totals.csv] [--threads n] [--no-cascade] dumps...\"";
+
+	public static void main(String[] args) throws Exception
+	{
+		final int status = run(args);
+		if (status != 0)
+		{
+			System.exit(status);
+		}
+	}
+
+	/**
+	 * @return the exit status, 0 when every dump has been calculated and 2 when the arguments are invalid
+	 */
+	static int run(final String[] args) throws Exception
+	{
+		Path out = null;
+		int threads = Runtime.getRuntime().availableProcessors();
+		boolean cascade = true;
+		final List<Path> inputs = new ArrayList<>();
+		try
+		{
+			for (int i = 0; i < args.length; i++)
+			{
+				switch (args[i])
+				{
+					case "--out":
+						out = Paths.get(value(args, ++i));
+						break;
+					case "--threads":
+						threads = parseThreads(value(args, ++i));
+						break;
+					case "--no-cascade":
+						cascade = false;
+						break;
+					default:
+						if (args[i].startsWith("--"))
+						{
+							throw new IllegalArgumentException("Unknown option " + args[i]);
+						}
+						inputs.add(Paths.get(args[i]));
+				}
+			}
+
+			if (inputs.isEmpty())
+			{
+				throw new IllegalArgumentException("No bank dumps given");
+			}
+		}
+		catch (IllegalArgumentException e)
+		{
+			System.err.println(e.getMessage());
+			System.err.println(USAGE);
+			return 2;
+		}
+
+		final List<Path> dumps = new ArrayList<>();
+		for (final Path input : inputs)
+		{
+			if (Files.isDirectory(input))
+			{
+				try (Stream<Path> files = Files.list(input))
+				{
+					files.filter(p -> p.toString().endsWith(".txt") || p.toString().endsWith(".csv"))
+						.sorted()
+						.forEach(dumps::add);
+				}
+			}
+			else
+			{
+				dumps.add(input);
+			}
+		}
+
+		final long start = System.nanoTime();
+		final boolean cascadeItems = cascade;
+		final ForkJoinPool pool = new ForkJoinPool(threads);
+		try (Writer writer = out == null
+			? new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8))
+			: Files.newBufferedWriter(out, StandardCharsets.UTF_8))
+		{
+			writer.write("account,skill,banked_xp,items\n");
+			// The lines of every account are written as soon as it and every account before it are calculated
+			pool.submit(() -> dumps.parallelStream()
+				.map(dump -> calculate(dump, cascadeItems))
+				.forEachOrdered(lines -> write(writer, lines))).get();
+		}
+		finally
+		{
+			pool.shutdown();
+		}
+
+		final long millis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+		log.info("Calculated {} accounts in {}ms ({} per minute)", dumps.size(), millis, dumps.size() * 60_000L / millis);
+		return 0;
+	}
+
+	/**
+	 * @return the value of the option before this index
+	 */
+	private static String value(final String[] args, final int i)
+	{
+		if (i >= args.length)
+		{
+			throw new IllegalArgumentException("Missing value for " + args[i - 1]);
+		}
+		return args[i];
+	}
+
+	private static int parseThreads(final String value)
+	{
+		try
+		{
+			final int threads = Integer.parseInt(value);
+			if (threads > 0)
+			{
+				return threads;
+			}
+		}
+		catch (NumberFormatException e)
+		{
+			// reported below
+		}
+
+		throw new IllegalArgumentException("Invalid thread count " + value);
+	}
+
+	private static void write(final Writer writer, final List<String> lines)
+	{
+		try
+		{
+			for (final String line : lines)
+			{
+				writer.write(line);
+				writer.write('\n');
+			}
+		}
+		catch (IOException e)
+		{
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * @return a line with the totals of every skill of this account, or no lines if the dump couldn't be read
+	 */
+	private static List<String> calculate(final Path dump, final boolean cascade)
+	{
+		final IntIntMap quantities = new IntIntMap(512);
+		try (BufferedReader reader = Files.newBufferedReader(dump, StandardCharsets.UTF_8))
+		{
+			String line;
+			while ((line = reader.readLine()) != null)
+			{
+				line = line.trim();
+				if (line.isEmpty() || line.startsWith("#"))
+				{
+					continue;
+				}
+
+				final String[] parts = line.split(SEPARATORS);
+				if (parts.length < 2)
+				{
+					continue;
+				}
+
+				try
+				{
+					quantities.add(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]));
+				}
+				catch (NumberFormatException e)
+				{
+					// Skip headers and malformed lines
+				}
+			}
+		}
+		catch (IOException e)
+		{
+			log.warn("Unable to read {}, skipping it", dump, e);
+			return Collections.emptyList();
+		}
+
+		final String account = dump.getFileName().toString().replaceFirst("\\.[^.]*$", "");
+		final BankedXpInput input = new BankedXpInput(
+			quantities,
+			new Activity[ExperienceItem.values().length],
+			new BitSet(),
+			BankedXpEngine.resolveXpRates(Collections.emptyList()),
+			Collections.emptyMap(),
+			Collections.emptyMap(),
+			0,
+			1,
+			false,
+			cascade
+		);
+
+		final List<String> lines = new ArrayList<>(Activity.BANKABLE_SKILLS.size());
+		for (final Skill skill : Activity.BANKABLE_SKILLS)
+		{
+			final BankedXpResult result = BankedXpEngine.calculate(input, skill);
+			lines.add(account + "," + skill.getName() + "," + (long) result.getTotalXp() + "," + result.getTotalItems());
+		}
+		return lines;
+	}
+}
@@ -24,18 +24,15 @@
  */
 package thestonedturtle.bankedexperience;
 
-import com.google.common.collect.ArrayListMultimap;
-import com.google.common.collect.Multimap;
 import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Client;
 import net.runelite.api.Experience;
 import net.runelite.api.Skill;
-import net.runelite.client.config.ConfigManager;
 import net.runelite.client.game.ItemManager;
 import net.runelite.client.ui.DynamicGridLayout;
 import net.runelite.client.util.AsyncBufferedImage;
-import net.runelite.client.util.Text;
 import thestonedturtle.bankedexperience.components.ExpandableSection;
 import thestonedturtle.bankedexperience.components.GridItem;
 import thestonedturtle.bankedexperience.components.ModifyPanel;
@@ -45,12 +42,21 @@ import thestonedturtle.bankedexperience.components.SelectionListener;
 import thestonedturtle.bankedexperience.components.textinput.SpinnerInput;
 import thestonedturtle.bankedexperience.components.textinput.UICalculatorInputArea;
 import thestonedturtle.bankedexperience.data.Activity;
+import thestonedturtle.bankedexperience.data.ActivityTable;
 import thestonedturtle.bankedexperience.data.BankedItem;
 import thestonedturtle.bankedexperience.data.ExperienceItem;
+import thestonedturtle.bankedexperience.data.Profile;
 import thestonedturtle.bankedexperience.data.modifiers.Modifier;
 import thestonedturtle.bankedexperience.data.modifiers.ModifierComponent;
 import thestonedturtle.bankedexperience.data.modifiers.Modifiers;
-
+import thestonedturtle.bankedexperience.engine.BankedXpEngine;
+import thestonedturtle.bankedexperience.engine.BankedXpInput;
+import thestonedturtle.bankedexperience.engine.BankedXpResult;
+import thestonedturtle.bankedexperience.persistence.ProfileStore;
+import thestonedturtle.bankedexperience.util.IntIntMap;
+import thestonedturtle.bankedexperience.util.LruCache;
+
+import javax.annotation.Nullable;
 import javax.swing.JButton;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
@@ -58,7 +64,10 @@ import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
@@ -78,11 +87,15 @@ public class BankedCalculator extends JPanel
 	private final UICalculatorInputArea uiInput;
 	@Getter
 	private final ItemManager itemManager;
-	private final ConfigManager configManager;
+	private final ProfileStore profileStore;
 
-	// Some activities output a ExperienceItem and may need to be included in the calculable qty
-	// Using multimap for cases where there are multiple items linked directly to one item, use recursion for otherwise
-	private final Multimap<ExperienceItem, BankedItem> linkedMap = ArrayListMultimap.create();
+	/**
+	 * Increased whenever quantities, selections, ignores or modifiers change. The result is only calculated once per
+	 * epoch, a result calculated during an older epoch is stale.
+	 */
+	private int epoch = 1;
+	private int resultEpoch;
+	private BankedXpResult result;
 
 	private final Map<ExperienceItem, BankedItem> bankedItemMap = new LinkedHashMap<>();
 	private final JLabel totalXpLabel = new JLabel();
@@ -93,19 +106,50 @@ public class BankedCalculator extends JPanel
 	private ExpandableSection modifierSection;
 	private ExpandableSection secondarySection;
 	private final JButton refreshBtn;
+	private final JButton sharedItemsBtn;
 
-	// Store items from all sources in the same map
-	private final Map<Integer, Integer> currentMap = new HashMap<>();
-	// keep sources separate for recreating currentMap when one updates
-	private final Map<Integer, Map<Integer, Integer>> inventoryMap = new HashMap<>();
+	/**
+	 * The items of a single account
+	 */
+	private static class AccountInventory
+	{
+		// Store items from all sources in the same map
+		private final IntIntMap currentMap = new IntIntMap(512);
+		// keep sources separate so a source can be removed from currentMap
+		private final Map<Integer, IntIntMap> inventoryMap = new HashMap<>();
+		// sources that received updates this session, a snapshot must never overwrite them
+		private final Set<Integer> liveSources = new HashSet<>();
+	}
+
+	// The items of recently logged in accounts so switching back to them doesn't have to wait for the snapshot
+	private final Map<Long, AccountInventory> accountCache = new LruCache<>(BankedExperiencePlugin.CACHED_ACCOUNTS);
+	private long accountHash = -1;
+	private AccountInventory inventory;
+	// Shortcuts to the maps of the current inventory
+	private IntIntMap currentMap;
+	private Map<Integer, IntIntMap> inventoryMap;
+	private Set<Integer> liveSources;
+	// Item quantities of an imported plan shown instead of the items of the account, null when not shown
+	@Nullable
+	private IntIntMap sharedItems;
+	@Setter
+	private BankedXpListener bankedXpListener;
+	// Told whenever anything the banked experience is calculated from may have changed, even for other skills
+	@Setter
+	private Runnable inputListener;
+	// Item ids changed by the last applied batch, reused between batches
+	private final IntIntMap changedIds = new IntIntMap();
 
 	// Keep a reference to enabled modifiers so recreating tooltips is faster.
 	@Getter
 	private final Set<Modifier> enabledModifiers = new HashSet<>();
 	private final List<ModifierComponent> modifierComponents = new ArrayList<>();
 
+	// Every choice the player can make is stored inside the active profile
 	@Getter
-	private final Set<String> ignoredItems;
+	private Profile profile;
+	// Set while inputs and modifiers are changed to match the profile so they aren't saved back into it
+	private boolean applyingProfile;
 
 	@Getter
 	private Skill currentSkill;
@@ -130,15 +174,15 @@ public class BankedCalculator extends JPanel
 	);
 
 	BankedCalculator(UICalculatorInputArea uiInput, Client client, BankedExperienceConfig config,
-			ItemManager itemManager, ConfigManager configManager)
+			ItemManager itemManager, ProfileStore profileStore)
 	{
 		this.uiInput = uiInput;
 		this.client = client;
+		useInventory(new AccountInventory());
 		this.config = config;
 		this.itemManager = itemManager;
-		this.configManager = configManager;
-
-		this.ignoredItems = new HashSet<>(Text.fromCSV(config.ignoredItems()));
+		this.profileStore = profileStore;
+		this.profile = profileStore.getActive();
 
 		setLayout(new DynamicGridLayout(0, 1, 0, 5));
 
@@ -159,6 +203,11 @@ public class BankedCalculator extends JPanel
 			}
 		}));
 
+		this.sharedItemsBtn = new JButton("Show My Items");
+		sharedItemsBtn.setFocusable(false);
+		sharedItemsBtn.setToolTipText("The item quantities of an imported plan are shown instead of your items");
+		sharedItemsBtn.addActionListener(e -> showAccountItems());
+
 		itemGrid.setSelectionListener(new SelectionListener()
 		{
 			@Override
@@ -173,8 +222,7 @@ public class BankedCalculator extends JPanel
 			{
 				toggleIgnoreBankedItem(item);
 
-				// Update Config
-				config.ignoredItems(Text.toCSV(ignoredItems));
+				profileStore.save();
 
 				// Update UI
 				calculateBankedXpTotal();
@@ -204,9 +252,8 @@ public class BankedCalculator extends JPanel
 
 		if (!newSkill.equals(currentSkill))
 		{
-			boostInput.setInputValue(0);
 			itemGrid.setSelectedItem(null);
-			// intentionally not resetting the xp rate modifier
+			// intentionally not resetting the boost or xp rate modifier, both belong to the profile
 		}
 
 		this.currentSkill = newSkill;
@@ -219,8 +266,15 @@ public class BankedCalculator extends JPanel
 		refreshBtn.setVisible(false);
 		secondaryGrid = null; // prevents the Secondaries section from being added early by recreateItemGrid
 
-		if (currentMap.isEmpty())
+		if (sharedItems != null)
+		{
+			add(sharedItemsBtn);
+		}
+
+		if (currentMap.isEmpty() && sharedItems == null)
 		{
+			// Nothing is displayed so there are no banked items to update in place
+			bankedItemMap.clear();
 			add(new JLabel("Please visit a bank!", JLabel.CENTER));
 			add(refreshBtn);
 			revalidate();
@@ -332,120 +386,111 @@ public class BankedCalculator extends JPanel
 			});
 			modifierComponents.add(c);
 		}
+
+		// Restore the modifiers enabled inside the profile without saving them back into it
+		applyingProfile = true;
+		for (final ModifierComponent c : modifierComponents)
+		{
+			if (profile.getEnabledModifiers().contains(Profile.modifierKey(c.getModifier())))
+			{
+				c.setModifierEnabled(true);
+			}
+		}
+		applyingProfile = false;
+		refreshEnabledModifiers();
 	}
 
 	private void recreateBankedItemMap()
 	{
 		bankedItemMap.clear();
-		linkedMap.clear();
 
 		final Collection<ExperienceItem> items = ExperienceItem.getBySkill(currentSkill);
 		log.debug("Experience items for the {} Skill: {}", currentSkill.getName(), items);
 
 		for (final ExperienceItem item : items)
 		{
-			int qty = 0;
-			for (int i = 0; i < item.getItemIds().length; i++)
-			{
-				final int multiplier = item.isByDose() ? i + 1 : 1;
-				qty += getItemQtyFromBank(item.getItemIds()[i]) * multiplier;
-			}
-
 			// Convert to bankedItems
-			final BankedItem banked = new BankedItem(item, qty);
+			final BankedItem banked = new BankedItem(item, getExperienceItemQty(item));
 			bankedItemMap.put(item, banked);
 
-			Activity a = item.getSelectedActivity();
-			if (a == null || (config.limitToCurrentLevel() && (skillLevel + boostInput.getInputValue()) < a.getLevel()))
+			// The picked activity is shown again as soon as the level allows it, fallbacks are only shown
+			final Activity chosen = profile.getChoices()[item.ordinal()];
+			Activity a = chosen == null ? item.getSelectedActivity() : chosen;
+			if (a == null || (config.limitToCurrentLevel() && (skillLevel + boostInput.getInputValue()) < ActivityTable.level(a.ordinal())))
 			{
-				final List<Activity> activities = Activity.getByExperienceItem(item, config.limitToCurrentLevel() ? (skillLevel + boostInput.getInputValue()) : -1);
-				if (activities.isEmpty())
-				{
-					item.setSelectedActivity(null);
-					continue;
-				}
-
-				item.setSelectedActivity(activities.get(0));
-				a = activities.get(0);
-			}
-
-			// If this activity outputs another experienceItem they should be linked
-			if (a.getLinkedItem() != null)
-			{
-				linkedMap.put(a.getLinkedItem(), banked);
+				final int first = ActivityTable.firstAvailable(item.ordinal(), config.limitToCurrentLevel() ? (skillLevel + boostInput.getInputValue()) : -1);
+				a = first < 0 ? null : ActivityTable.get(first);
 			}
+			item.setSelectedActivity(a);
 		}
 		log.debug("Banked Item Map: {}", bankedItemMap);
-		log.debug("Linked Map: {}", linkedMap);
+
+		invalidateCalculation();
 	}
 
 	/**
-	 * Populates the detailContainer with the necessary BankedItemPanels
+	 * Forgets the calculated result so the next request recalculates it
 	 */
-	private void recreateItemGrid()
+	private void invalidateCalculation()
 	{
-		// Selection grid will only display values with > 0 items
-		itemGrid.recreateGrid(this, bankedItemMap.values(), itemManager);
-
-		// Select the first item in the list
-		modifyPanel.setBankedItem(itemGrid.getSelectedItem());
+		epoch++;
+		inputChanged();
+	}
 
-		calculateBankedXpTotal();
+	private void inputChanged()
+	{
+		if (inputListener != null)
+		{
+			inputListener.run();
+		}
 	}
 
-	public double getItemXpRate(final BankedItem bankedItem)
+	/**
+	 * @return the banked experience of the current skill, calculated at most once per epoch
+	 */
+	private BankedXpResult getResult()
 	{
-		final Activity selected = bankedItem.getItem().getSelectedActivity();
-		if (selected == null)
+		// The config can be changed at any time without anything being recalculated
+		if (resultEpoch != epoch || result.getInput().isCascade() != config.cascadeBankedXp())
 		{
-			return 0;
+			final BankedXpInput input = createInput(Collections.singletonMap(currentSkill, skillLevel),
+				Collections.singletonMap(currentSkill, skillExp), enabledModifiers);
+			result = BankedXpEngine.calculate(input, currentSkill);
+			resultEpoch = epoch;
 		}
 
-		return selected.getXpRate(enabledModifiers) * getXpRateModifier();
+		return result;
 	}
 
-	private int getConsolidatedTotal(Map<ExperienceItem, Integer> original, ExperienceItem goalItem)
+	private int getExperienceItemQty(final ExperienceItem item)
 	{
-		// Create a copy to enable deleting entries during the loop without concurrent errors
-		Map<ExperienceItem, Integer> linked = new HashMap<>(original);
-
-		double runningCascadeTotal = 0;
-		for (final ExperienceItem experienceItem : original.keySet())
+		int qty = 0;
+		for (int i = 0; i < item.getItemIds().length; i++)
 		{
-			Activity a = experienceItem.getSelectedActivity();
-			assert a != null;
+			final int multiplier = item.isByDose() ? i + 1 : 1;
+			qty += getItemQtyFromBank(item.getItemIds()[i]) * multiplier;
+		}
 
-			// subTotal should always include this item regardless of activity.
-			// If the activity for this item is the goalActivity than the while loop will never run
-			double subTotal = 0;
-			ExperienceItem linkedItem = experienceItem;
-			while (linkedItem != null && !linkedItem.equals(goalItem))
-			{
-				Activity linkedActivity = linkedItem.getSelectedActivity();
-				// We update instead of concat to this value as items can be mapped to multiples of another
-				// Example: Item 1 -> 5 of Item 2 -> 10 of Item 3
-				// So if we have 5, 10, and 50 of each item we should end up with
-				// 5 * 2 = 10 of Item 2 added to `subTotal.
-				// Next, when Item 2 is processed we should calculate `10 + the 10 original` items for 20 * 3 for 60 of Item 3 in the subtotal
-				// Finally, we should get `60 + 50 of the original` of Item 3 for 110 total.
-				subTotal = (subTotal + linked.getOrDefault(linkedItem, 0)) * (linkedActivity.getOutput() == null ? 1 : linkedActivity.getOutput().getQty());
-				linked.remove(linkedItem);
-
-				linkedItem = linkedActivity.getLinkedItem();
-			}
+		return qty;
+	}
 
-			// Once we get here linkedItem should be equal to goalItem and never null, but better safe than sorry
-			if (linkedItem != null)
-			{
-				Activity linkedActivity = linkedItem.getSelectedActivity();
-				subTotal += linked.getOrDefault(linkedItem, 0) * (linkedActivity.getOutput() == null ? 1 : linkedActivity.getOutput().getQty());
-				linked.remove(linkedItem);
-			}
+	/**
+	 * Populates the detailContainer with the necessary BankedItemPanels
+	 */
+	private void recreateItemGrid()
+	{
+		// Selection grid will only display values with > 0 items
+		itemGrid.recreateGrid(this, bankedItemMap.values(), itemManager);
 
-			runningCascadeTotal += subTotal;
-		}
+		// Select the first item in the list
+		modifyPanel.setBankedItem(itemGrid.getSelectedItem());
 
-		return (int) runningCascadeTotal;
+		calculateBankedXpTotal();
+	}
+
+	public double getItemXpRate(final BankedItem bankedItem)
+	{
+		return getResult().getXpRate(bankedItem.getItem());
 	}
 
 	/**
@@ -456,31 +501,19 @@ public class BankedCalculator extends JPanel
 	 */
 	public int getItemQty(final BankedItem item)
 	{
-		int qty = item.getQty();
-
-		if (!config.cascadeBankedXp())
-		{
-			return qty;
-		}
-
-		final Map<ExperienceItem, Integer> linked = createLinksMap(item);
-		final int cascadeTotal = getConsolidatedTotal(linked, item.getItem());
-
-		return qty + cascadeTotal;
+		return getResult().getQty(item.getItem());
 	}
 
 	private void calculateBankedXpTotal()
 	{
-		double total = 0.0;
-		for (final GridItem i : itemGrid.getPanelMap().values())
-		{
-			if (i.isIgnored())
-			{
-				continue;
-			}
+		final BankedXpResult calculated = getResult();
+		final double total = calculated.getTotalXp();
+		final int items = calculated.getTotalItems();
 
-			final BankedItem bi = i.getBankedItem();
-			total += getItemQty(bi) * getItemXpRate(bi);
+		// The quantities of an imported plan don't belong to this account
+		if (bankedXpListener != null && accountHash != -1 && sharedItems == null)
+		{
+			bankedXpListener.bankedXpCalculated(accountHash, currentSkill, (long) total, items);
 		}
 
 		endExp = Math.min(Experience.MAX_SKILL_XP, (int) (skillExp + total));
@@ -516,15 +549,13 @@ public class BankedCalculator extends JPanel
 			return;
 		}
 
-		item.setSelectedActivity(a);
-		saveActivity(i.getItem());
+		profile.choose(a);
+		profileStore.save();
+		invalidateCalculation();
 
 		// Cascade activity changes if necessary.
 		if (config.cascadeBankedXp() && a.shouldUpdateLinked(old))
 		{
-			// Update Linked Map
-			linkedMap.remove(old.getLinkedItem(), i);
-			linkedMap.put(a.getLinkedItem(), i);
 			// Update all items the old activity effects
 			updateLinkedItems(old);
 			// Update all the items the new activity effects
@@ -604,33 +635,18 @@ public class BankedCalculator extends JPanel
 	public Map<ExperienceItem, Integer> createLinksMap(final BankedItem item)
 	{
 		final Map<ExperienceItem, Integer> qtyMap = new HashMap<>();
-
-		final Activity a = item.getItem().getSelectedActivity();
-		if (a == null)
+		if (item.getItem().getSelectedActivity() == null)
 		{
 			return qtyMap;
 		}
 
-		final Collection<BankedItem> linkedBank = linkedMap.get(item.getItem());
-		if (linkedBank == null || linkedBank.isEmpty())
+		for (final ExperienceItem linked : getResult().getCascadeSources(item.getItem()))
 		{
-			return qtyMap;
-		}
-
-		for (final BankedItem linked : linkedBank)
-		{
-			// Check if the item is ignored in the grid
-			if (ignoredItems.contains(linked.getItem().name()))
-			{
-				continue;
-			}
-
-			final int qty = linked.getQty();
-			if (qty > 0)
+			final BankedItem bi = bankedItemMap.get(linked);
+			if (bi != null && bi.getQty() > 0)
 			{
-				qtyMap.put(linked.getItem(), qty);
+				qtyMap.put(linked, bi.getQty());
 			}
-			qtyMap.putAll(createLinksMap(linked));
 		}
 
 		return qtyMap;
@@ -638,27 +654,136 @@ public class BankedCalculator extends JPanel
 
 	private void modifierUpdated()
 	{
+		if (applyingProfile)
+		{
+			return;
+		}
+
+		refreshEnabledModifiers();
+
+		// Modifiers of other skills are kept inside the profile
+		profile.getEnabledModifiers().removeIf(key -> key.startsWith(Profile.modifierKey(currentSkill, "")));
+		enabledModifiers.forEach(modifier -> profile.getEnabledModifiers().add(Profile.modifierKey(modifier)));
+		profileStore.save();
+
+		itemGrid.getPanelMap().values().forEach(item -> item.updateToolTip(enabledModifiers));
+		modifyPanel.setBankedItem(modifyPanel.getBankedItem());
+		calculateBankedXpTotal();
+	}
+
+	private void refreshEnabledModifiers()
+	{
+		invalidateCalculation();
 		enabledModifiers.clear();
 		enabledModifiers.addAll(modifierComponents.stream()
 				.filter(ModifierComponent::isModifierEnabled)
 				.map(ModifierComponent::getModifier)
 				.collect(Collectors.toSet())
 		);
+	}
 
-		itemGrid.getPanelMap().values().forEach(item -> item.updateToolTip(enabledModifiers));
-		modifyPanel.setBankedItem(modifyPanel.getBankedItem());
-		calculateBankedXpTotal();
+	public boolean isIgnored(final ExperienceItem item)
+	{
+		return profile.getIgnoredItems().get(item.ordinal());
 	}
 
 	public int getItemQtyFromBank(final int id)
 	{
-		return currentMap.getOrDefault(id, 0);
+		return sharedItems == null ? currentMap.get(id) : sharedItems.get(id);
+	}
+
+	/**
+	 * Copies everything needed to calculate every skill on another thread
+	 */
+	public BankedXpInput createInput()
+	{
+		final Map<Skill, Integer> levels = new EnumMap<>(Skill.class);
+		final Map<Skill, Integer> experience = new EnumMap<>(Skill.class);
+		final List<Modifier> modifiers = new ArrayList<>();
+		for (final Skill skill : Activity.BANKABLE_SKILLS)
+		{
+			levels.put(skill, client.getRealSkillLevel(skill));
+			experience.put(skill, client.getSkillExperience(skill));
+			for (final Modifier modifier : Modifiers.getBySkill(skill))
+			{
+				if (profile.getEnabledModifiers().contains(Profile.modifierKey(modifier)))
+				{
+					modifiers.add(modifier);
+				}
+			}
+		}
+
+		return createInput(levels, experience, modifiers);
+	}
+
+	/**
+	 * Must be called on the EDT as the xp rates of the modifiers are resolved from their components
+	 */
+	private BankedXpInput createInput(final Map<Skill, Integer> levels, final Map<Skill, Integer> experience,
+		final Collection<Modifier> enabledModifiers)
+	{
+		return new BankedXpInput(
+			sharedItems == null ? currentMap : sharedItems,
+			profile.copySelections(),
+			profile.getIgnoredItems(),
+			BankedXpEngine.resolveXpRates(enabledModifiers),
+			levels,
+			experience,
+			boostInput.getInputValue(),
+			getXpRateModifier(),
+			config.limitToCurrentLevel(),
+			config.cascadeBankedXp()
+		);
+	}
+
+	/**
+	 * @return the item quantities of the current account, used when exporting a plan
+	 */
+	public IntIntMap getAccountItems()
+	{
+		return currentMap;
+	}
+
+	/**
+	 * Uses an imported plan, the calculator is only recalculated once
+	 *
+	 * @param quantities the item quantities shown instead of the items of the account, null to keep showing them
+	 */
+	public void importPlan(final Profile profile, @Nullable final IntIntMap quantities)
+	{
+		sharedItems = quantities;
+		switchProfile(profile);
+	}
+
+	/**
+	 * Stops showing the item quantities of an imported plan
+	 */
+	private void showAccountItems()
+	{
+		sharedItems = null;
+		inputChanged();
+		if (currentSkill != null)
+		{
+			open(currentSkill, true);
+		}
 	}
 
-	public void resetInventoryMaps()
+	/**
+	 * Shows the items of another account, the items of the previous account are kept in the account cache
+	 */
+	public void switchAccount(final long hash)
 	{
-		inventoryMap.clear();
-		updateCurrentMap();
+		if (accountHash != -1)
+		{
+			accountCache.put(accountHash, inventory);
+		}
+
+		accountHash = hash;
+		sharedItems = null;
+		final AccountInventory cached = hash == -1 ? null : accountCache.remove(hash);
+		useInventory(cached == null ? new AccountInventory() : cached);
+		inputChanged();
+
 		if (currentSkill == null)
 		{
 			return;
@@ -672,24 +797,189 @@ public class BankedCalculator extends JPanel
 		uiInput.setTargetXPInput(0);
 	}
 
-	void setInventoryMap(final int inventoryId, final Map<Integer, Integer> map)
+	/**
+	 * Forgets the items of every account other than the current one
+	 */
+	void clearAccountCache()
+	{
+		accountCache.clear();
+	}
+
+	private void useInventory(final AccountInventory inventory)
+	{
+		this.inventory = inventory;
+		currentMap = inventory.currentMap;
+		inventoryMap = inventory.inventoryMap;
+		liveSources = inventory.liveSources;
+	}
+
+	/**
+	 * Applies the item quantity changes of every source updated within a client tick and updates the displayed
+	 * banked items in place
+	 *
+	 * @param batch the removed sources and the item quantity changes of each source
+	 */
+	void applyInventoryBatch(final InventoryBatch batch)
+	{
+		changedIds.clear();
+		for (final int inventoryId : batch.getRemoved())
+		{
+			liveSources.add(inventoryId);
+			final IntIntMap source = inventoryMap.remove(inventoryId);
+			if (source == null)
+			{
+				continue;
+			}
+
+			source.forEach((id, qty) ->
+			{
+				currentMap.add(id, -qty);
+				changedIds.put(id, 0);
+			});
+		}
+
+		for (final Map.Entry<Integer, IntIntMap> entry : batch.getDeltas().entrySet())
+		{
+			final IntIntMap delta = entry.getValue();
+			if (delta.isEmpty())
+			{
+				continue;
+			}
+
+			liveSources.add(entry.getKey());
+			final IntIntMap source = inventoryMap.computeIfAbsent(entry.getKey(), k -> new IntIntMap());
+			delta.forEach((id, qty) ->
+			{
+				source.add(id, qty);
+				currentMap.add(id, qty);
+				changedIds.put(id, 0);
+			});
+		}
+
+		updateBankedItems(changedIds);
+	}
+
+	/**
+	 * Restores the item quantities saved in a snapshot. Sources that already received updates this session, or were
+	 * restored from the account cache, are at least as new as the snapshot and are kept as is.
+	 *
+	 * @param sources the item quantities of each source keyed by source id
+	 */
+	void restoreSnapshot(final Map<Integer, IntIntMap> sources)
+	{
+		changedIds.clear();
+		for (final Map.Entry<Integer, IntIntMap> entry : sources.entrySet())
+		{
+			if (liveSources.contains(entry.getKey()) || inventoryMap.containsKey(entry.getKey()))
+			{
+				continue;
+			}
+
+			inventoryMap.put(entry.getKey(), entry.getValue());
+			entry.getValue().forEach((id, qty) ->
+			{
+				currentMap.add(id, qty);
+				changedIds.put(id, 0);
+			});
+		}
+
+		if (changedIds.isEmpty())
+		{
+			return;
+		}
+
+		// Nothing could be shown before the snapshot was restored
+		if (currentSkill != null && bankedItemMap.isEmpty())
+		{
+			open(currentSkill, true);
+			return;
+		}
+
+		updateBankedItems(changedIds);
+	}
+
+	/**
+	 * Updates the quantity of every banked item for the current skill that uses one of the changed item ids
+	 *
+	 * @param changedIds map keyed by the item ids whose banked quantity changed
+	 */
+	private void updateBankedItems(final IntIntMap changedIds)
 	{
-		inventoryMap.put(inventoryId, map);
-		updateCurrentMap();
 		refreshBtn.setVisible(true);
+		inputChanged();
+
+		// Nothing is being displayed, the refresh button will create the banked items from scratch
+		if (currentSkill == null || bankedItemMap.isEmpty())
+		{
+			return;
+		}
+
+		boolean changed = false;
+		for (final BankedItem bankedItem : bankedItemMap.values())
+		{
+			final ExperienceItem item = bankedItem.getItem();
+			boolean affected = false;
+			for (final int id : item.getItemIds())
+			{
+				affected |= changedIds.containsKey(id);
+			}
+
+			if (!affected)
+			{
+				continue;
+			}
+
+			final int qty = getExperienceItemQty(item);
+			if (qty != bankedItem.getQty())
+			{
+				bankedItem.setQty(qty);
+				invalidateCalculation();
+				changed = true;
+			}
+		}
+
+		if (changed)
+		{
+			refreshItemQuantities();
+		}
 	}
 
-	private void updateCurrentMap()
+	/**
+	 * Updates the displayed amount of every grid item without recreating the grid
+	 */
+	private void refreshItemQuantities()
 	{
-		currentMap.clear();
-		for (final Map<Integer, Integer> map : inventoryMap.values())
+		// The grid had no items to display so the whole panel needs to be recreated
+		if (itemGrid.getSelectedItem() == null)
 		{
-			for (final int id : map.keySet())
+			open(currentSkill, true);
+			return;
+		}
+
+		boolean gridCountChanged = false;
+		for (final GridItem gridItem : itemGrid.getPanelMap().values())
+		{
+			final BankedItem bi = gridItem.getBankedItem();
+			final int qty = getItemQty(bi);
+			final int oldQty = gridItem.getAmount();
+			if (qty == oldQty)
 			{
-				final int qty = map.get(id) + currentMap.getOrDefault(id, 0);
-				currentMap.put(id, qty);
+				continue;
 			}
+
+			gridCountChanged |= (oldQty == 0) != (qty == 0);
+			final boolean stackable = qty > 1 || bi.getItem().isStackable();
+			gridItem.updateIcon(itemManager.getImage(bi.getItem().getItemID(), qty, stackable), qty);
+			gridItem.updateToolTip(enabledModifiers);
+		}
+
+		if (gridCountChanged)
+		{
+			itemGrid.refreshGridDisplay();
 		}
+
+		modifyPanel.setBankedItem(itemGrid.getSelectedItem());
+		calculateBankedXpTotal();
 	}
 
 	private void refreshSecondaries()
@@ -716,13 +1006,40 @@ public class BankedCalculator extends JPanel
 		}
 	}
 
-	private void saveActivity(final ExperienceItem item)
+	/**
+	 * Uses the choices of this profile, the calculator is only recalculated once
+	 */
+	public void switchProfile(final Profile profile)
 	{
-		configManager.setConfiguration(BankedExperiencePlugin.CONFIG_GROUP, BankedExperiencePlugin.ACTIVITY_CONFIG_KEY + item.name(), item.getSelectedActivity().name());
+		profileStore.setActive(profile);
+		this.profile = profile;
+		inputChanged();
+
+		applyingProfile = true;
+		boostInput.setInputValue(profile.getBoost());
+		xpRateModifierInput.setInputValue(profile.getXpMultiplier());
+		applyingProfile = false;
+
+		if (currentSkill == null)
+		{
+			return;
+		}
+
+		modifierComponents.clear();
+		enabledModifiers.clear();
+		open(currentSkill, true);
 	}
 
 	private void updateBoost(Integer value)
 	{
+		if (applyingProfile)
+		{
+			return;
+		}
+
+		profile.setBoost(value);
+		profileStore.save();
+
 		// If the item grid wasn't added then the boost input is not visible
 		recreateBankedItemMap();
 		recreateItemGrid();
@@ -730,38 +1047,32 @@ public class BankedCalculator extends JPanel
 
 	private void ignoreBankedItem(BankedItem item, boolean ignored)
 	{
-		final String name = item.getItem().name();
-		if (ignored)
-		{
-			ignoredItems.add(name);
-		}
-		else
-		{
-			ignoredItems.remove(name);
-		}
-
+		profile.getIgnoredItems().set(item.getItem().ordinal(), ignored);
+		invalidateCalculation();
 		updateLinkedItems(item.getItem().getSelectedActivity());
 	}
 
 	private void toggleIgnoreBankedItem(BankedItem item)
 	{
-		boolean ignore = !ignoredItems.contains(item.getItem().name());
+		boolean ignore = !isIgnored(item.getItem());
 		ignoreBankedItem(item, ignore);
 	}
 
 	public void setIgnoreAllItems(boolean ignored)
 	{
-		itemGrid.getPanelMap().values().forEach((i) ->
+		// Cascading once per item would walk every chain again, so update the bits first and refresh once
+		final BitSet ignoredItems = profile.getIgnoredItems();
+		for (final GridItem i : itemGrid.getPanelMap().values())
 		{
-			ignoreBankedItem(i.getBankedItem(), ignored);
+			ignoredItems.set(i.getBankedItem().getItem().ordinal(), ignored);
 			i.setIgnore(ignored);
-		});
+		}
+		invalidateCalculation();
 
-		// Update Config
-		config.ignoredItems(Text.toCSV(ignoredItems));
+		profileStore.save();
 
-		// Update UI
-		calculateBankedXpTotal();
+		// Update UI, also recalculates the total
+		refreshItemQuantities();
 	}
 
 	public int getXpRateModifier()
@@ -771,6 +1082,14 @@ public class BankedCalculator extends JPanel
 
 	private void updateXpRateModifier(Integer value)
 	{
+		if (applyingProfile)
+		{
+			return;
+		}
+
+		profile.setXpMultiplier(value);
+		profileStore.save();
+		invalidateCalculation();
 		recreateItemGrid();
 	}
 }
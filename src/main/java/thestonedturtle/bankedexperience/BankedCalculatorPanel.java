@@ -29,32 +29,64 @@ import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
 import java.awt.event.ItemEvent;
 import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
 import javax.swing.ImageIcon;
+import javax.swing.JButton;
 import javax.swing.JComboBox;
+import javax.swing.JFileChooser;
+import javax.swing.JOptionPane;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
 import javax.swing.border.EmptyBorder;
+import javax.swing.filechooser.FileNameExtensionFilter;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Client;
 import net.runelite.api.Skill;
-import net.runelite.client.config.ConfigManager;
 import net.runelite.client.game.ItemManager;
 import net.runelite.client.game.SkillIconManager;
 import net.runelite.client.ui.ColorScheme;
 import net.runelite.client.ui.PluginPanel;
+import net.runelite.client.util.QuantityFormatter;
+import thestonedturtle.bankedexperience.components.ProfileSelector;
 import thestonedturtle.bankedexperience.components.combobox.ComboBoxIconEntry;
 import thestonedturtle.bankedexperience.components.combobox.ComboBoxIconListRenderer;
 import thestonedturtle.bankedexperience.components.textinput.UICalculatorInputArea;
 import thestonedturtle.bankedexperience.data.Activity;
+import thestonedturtle.bankedexperience.engine.BankedXpEngine;
+import thestonedturtle.bankedexperience.engine.BankedXpInput;
+import thestonedturtle.bankedexperience.engine.SkillSummary;
+import thestonedturtle.bankedexperience.persistence.ProfileStore;
+import thestonedturtle.bankedexperience.report.BankedXpReport;
+import thestonedturtle.bankedexperience.report.ReportFormat;
+import thestonedturtle.bankedexperience.util.IntIntMap;
 
 @Slf4j
 public class BankedCalculatorPanel extends PluginPanel
 {
+	// Bank changes arrive in bursts, the summaries are only recalculated once they settle
+	private static final int SUMMARY_DELAY_MS = 500;
+
 	private final BankedCalculator calculator;
+	private final ProfileSelector profileSelector;
+	private final ScheduledExecutorService executor;
+	private final Map<Skill, ComboBoxIconEntry> skillEntries = new EnumMap<>(Skill.class);
+	private final JComboBox<ComboBoxIconEntry> dropdown = new JComboBox<>();
+	private final Timer summaryTimer;
+	// Increased for every summary request so only the results of the latest request are shown
+	private int summaryGeneration;
 
 	public BankedCalculatorPanel(Client client, BankedExperienceConfig config, SkillIconManager skillIconManager,
-								ItemManager itemManager, ConfigManager configManager)
+								ItemManager itemManager, ProfileStore profileStore, ScheduledExecutorService executor)
 	{
 		super();
+		this.executor = executor;
 
 		setBorder(new EmptyBorder(10, 10, 10, 10));
 		setLayout(new GridBagLayout());
@@ -66,10 +98,14 @@ public class BankedCalculatorPanel extends PluginPanel
 		inputs.getUiFieldTargetXP().setEditable(false);
 		inputs.getUiFieldTargetLevel().setEditable(false);
 
-		calculator = new BankedCalculator(inputs, client, config, itemManager, configManager);
+		calculator = new BankedCalculator(inputs, client, config, itemManager, profileStore);
+		profileSelector = new ProfileSelector(profileStore, calculator);
+
+		summaryTimer = new Timer(SUMMARY_DELAY_MS, e -> refreshSummaries());
+		summaryTimer.setRepeats(false);
+		calculator.setInputListener(summaryTimer::restart);
 
 		// Create the Skill dropdown with icons
-		final JComboBox<ComboBoxIconEntry> dropdown = new JComboBox<>();
 		dropdown.setFocusable(false); // To prevent an annoying "focus paint" effect
 		dropdown.setForeground(Color.WHITE);
 		dropdown.setMaximumRowCount(Activity.BANKABLE_SKILLS.size());
@@ -82,6 +118,7 @@ public class BankedCalculatorPanel extends PluginPanel
 			final BufferedImage img = skillIconManager.getSkillImage(skill, true);
 			final ComboBoxIconEntry entry = new ComboBoxIconEntry(new ImageIcon(img), skill.getName(), skill);
 			dropdown.addItem(entry);
+			skillEntries.put(skill, entry);
 		}
 
 		dropdown.addItemListener(e ->
@@ -99,26 +136,154 @@ public class BankedCalculatorPanel extends PluginPanel
 
 		dropdown.setSelectedIndex(-1);
 
+		final JButton exportBtn = new JButton("Export All Skills");
+		exportBtn.setFocusable(false);
+		exportBtn.setToolTipText("Saves the banked items, experience and secondaries of every skill as CSV or JSON");
+		exportBtn.addActionListener(e -> exportReport());
+
 		final GridBagConstraints c = new GridBagConstraints();
 		c.fill = GridBagConstraints.HORIZONTAL;
 		c.weightx = 1;
 		c.gridx = 0;
 		c.gridy = 0;
 
+		add(profileSelector, c);
+		c.gridy++;
 		add(dropdown, c);
 		c.gridy++;
 		add(inputs, c);
 		c.gridy++;
+		add(exportBtn, c);
+		c.gridy++;
 		add(calculator, c);
 	}
 
-	void setInventoryMap(final int inventoryId, final Map<Integer, Integer> map)
+	private void exportReport()
+	{
+		final JFileChooser chooser = new JFileChooser();
+		chooser.setDialogTitle("Export banked experience");
+		chooser.setAcceptAllFileFilterUsed(false);
+		for (final ReportFormat format : ReportFormat.values())
+		{
+			chooser.addChoosableFileFilter(new FileNameExtensionFilter(format.name(), format.getExtension()));
+		}
+		chooser.setSelectedFile(new File("banked-experience." + ReportFormat.CSV.getExtension()));
+		if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION)
+		{
+			return;
+		}
+
+		final ReportFormat format = ReportFormat.valueOf(chooser.getFileFilter().getDescription());
+		File file = chooser.getSelectedFile();
+		if (!file.getName().endsWith("." + format.getExtension()))
+		{
+			file = new File(file.getParentFile(), file.getName() + "." + format.getExtension());
+		}
+
+		// Everything the report needs is copied now so the calculation can happen off the EDT
+		final BankedXpInput input = calculator.createInput();
+		final Path path = file.toPath();
+		executor.execute(() ->
+		{
+			try
+			{
+				BankedXpReport.export(input, path, format);
+			}
+			catch (IOException ex)
+			{
+				log.warn("Unable to export the banked experience report", ex);
+				SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(this,
+					"Unable to export the report: " + ex.getMessage(), "Export failed", JOptionPane.WARNING_MESSAGE));
+			}
+		});
+	}
+
+	/**
+	 * Calculates every skill in the background and shows the results inside the skill dropdown
+	 */
+	private void refreshSummaries()
+	{
+		// Everything is copied now so the skills can be calculated off the EDT
+		final BankedXpInput input = calculator.createInput();
+		final int generation = ++summaryGeneration;
+		// The shared executor must not block on the calculations so the whole request runs inside the common pool
+		ForkJoinPool.commonPool().execute(() ->
+		{
+			final long start = System.nanoTime();
+			final Map<Skill, SkillSummary> summaries = input.isBankEmpty()
+				? Collections.emptyMap()
+				: BankedXpEngine.summarizeAll(input);
+			log.debug("Summarized {} skills in {}us", summaries.size(), (System.nanoTime() - start) / 1000);
+			SwingUtilities.invokeLater(() -> showSummaries(generation, summaries));
+		});
+	}
+
+	private void showSummaries(final int generation, final Map<Skill, SkillSummary> summaries)
+	{
+		if (generation != summaryGeneration)
+		{
+			return;
+		}
+
+		for (final Map.Entry<Skill, ComboBoxIconEntry> e : skillEntries.entrySet())
+		{
+			final SkillSummary summary = summaries.get(e.getKey());
+			e.getValue().setDescription(summary == null ? null : describe(summary));
+		}
+		dropdown.repaint();
+	}
+
+	private static String describe(final SkillSummary summary)
+	{
+		String text = QuantityFormatter.quantityToStackSize(summary.getBankedXp()) + " xp, level "
+			+ summary.getProjectedLevel();
+		if (summary.getXpToNextLevel() > 0)
+		{
+			text += " (" + QuantityFormatter.quantityToStackSize(summary.getXpToNextLevel()) + " to next)";
+		}
+		if (summary.getMissingSecondaries() > 0)
+		{
+			text += "<br/>Short on " + summary.getMissingSecondaries() + " secondaries";
+		}
+		return text;
+	}
+
+	void shutDown()
+	{
+		summaryTimer.stop();
+	}
+
+	void applyInventoryBatch(final InventoryBatch batch)
+	{
+		calculator.applyInventoryBatch(batch);
+	}
+
+	void switchAccount(final long accountHash)
+	{
+		calculator.switchAccount(accountHash);
+	}
+
+	void clearAccountCache()
+	{
+		calculator.clearAccountCache();
+	}
+
+	/**
+	 * Shows the saved profiles and applies the active one
+	 */
+	void profilesLoaded(final ProfileStore profileStore)
+	{
+		profileSelector.refresh();
+		calculator.switchProfile(profileStore.getActive());
+	}
+
+	void setBankedXpListener(final BankedXpListener listener)
 	{
-		calculator.setInventoryMap(inventoryId, map);
+		calculator.setBankedXpListener(listener);
 	}
 
-	void resetInventoryMaps()
+	void restoreSnapshot(final Map<Integer, IntIntMap> sources)
 	{
-		calculator.resetInventoryMaps();
+		calculator.restoreSnapshot(sources);
 	}
 }
@@ -7,6 +7,10 @@ import net.runelite.client.config.ConfigItem;
 @ConfigGroup("bankedexperience")
 public interface BankedExperienceConfig extends Config
 {
+	String SEED_VAULT_KEY = "grabFromSeedVault";
+	String INVENTORY_KEY = "grabFromInventory";
+	String LOOTING_BAG_KEY = "grabFromLootingBag";
+	String FOSSIL_CHEST_KEY = "grabFromFossilChest";
 	String POTION_STORAGE_KEY = "grabFromPotionStorage";
 
 	@ConfigItem(
@@ -43,7 +47,7 @@ public interface BankedExperienceConfig extends Config
 	}
 
 	@ConfigItem(
-		keyName = "grabFromSeedVault",
+		keyName = SEED_VAULT_KEY,
 		name = "Include seed vault",
 		description = "Toggles whether the items stored inside the Seed Vault at the Farming Guild will be included in the calculations",
 		position = 4
@@ -54,7 +58,7 @@ public interface BankedExperienceConfig extends Config
 	}
 
 	@ConfigItem(
-		keyName = "grabFromInventory",
+		keyName = INVENTORY_KEY,
 		name = "Include player inventory",
 		description = "Toggles whether the items inside your inventory will be included in the calculations",
 		position = 5
@@ -65,7 +69,7 @@ public interface BankedExperienceConfig extends Config
 	}
 
 	@ConfigItem(
-		keyName = "grabFromLootingBag",
+		keyName = LOOTING_BAG_KEY,
 		name = "Include looting bag",
 		description = "Toggles whether the items stored inside your Looting Bag will be included in the calculations",
 		position = 6
@@ -76,7 +80,7 @@ public interface BankedExperienceConfig extends Config
 	}
 
 	@ConfigItem(
-		keyName = "grabFromFossilChest",
+		keyName = FOSSIL_CHEST_KEY,
 		name = "Include Fossil Chest",
 		description = "Toggles whether the fossils stored inside your Fossil Island chest will be included in the calculations",
 		position = 7
@@ -96,22 +100,4 @@ public interface BankedExperienceConfig extends Config
 	{
 		return true;
 	}
-
-	@ConfigItem(
-		keyName = "ignoredItems",
-		name = "",
-		description = "",
-		hidden = true
-	)
-	default String ignoredItems()
-	{
-		return "";
-	}
-
-	@ConfigItem(
-		keyName = "ignoredItems",
-		name = "",
-		description = ""
-	)
-	void ignoredItems(String val);
 }
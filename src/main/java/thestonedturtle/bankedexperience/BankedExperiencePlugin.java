@@ -1,23 +1,17 @@
 package thestonedturtle.bankedexperience;
 
 import com.google.inject.Provides;
+import lombok.AccessLevel;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Client;
-import net.runelite.api.EnumComposition;
-import net.runelite.api.EnumID;
-import net.runelite.api.Item;
-import net.runelite.api.ItemComposition;
-import net.runelite.api.ItemContainer;
-import net.runelite.api.ScriptID;
 import net.runelite.api.events.AccountHashChanged;
 import net.runelite.api.events.ClientTick;
 import net.runelite.api.events.ItemContainerChanged;
 import net.runelite.api.events.ScriptPostFired;
 import net.runelite.api.events.VarbitChanged;
 import net.runelite.api.events.WidgetLoaded;
-import net.runelite.api.gameval.InterfaceID;
-import net.runelite.api.gameval.InventoryID;
-import net.runelite.api.widgets.Widget;
+import net.runelite.client.RuneLite;
 import net.runelite.client.callback.ClientThread;
 import net.runelite.client.config.ConfigManager;
 import net.runelite.client.eventbus.Subscribe;
@@ -31,19 +25,24 @@ import net.runelite.client.ui.NavigationButton;
 import net.runelite.client.util.ImageUtil;
 import thestonedturtle.bankedexperience.data.Activity;
 import thestonedturtle.bankedexperience.data.ExperienceItem;
-import thestonedturtle.bankedexperience.data.WidgetInventoryInfo;
 import thestonedturtle.bankedexperience.data.modifiers.Modifiers;
+import thestonedturtle.bankedexperience.persistence.BankStore;
+import thestonedturtle.bankedexperience.persistence.JournalFrame;
+import thestonedturtle.bankedexperience.persistence.ProfileStore;
+import thestonedturtle.bankedexperience.persistence.XpHistory;
+import thestonedturtle.bankedexperience.sources.SourceSlots;
+import thestonedturtle.bankedexperience.sources.StorageSource;
+import thestonedturtle.bankedexperience.sources.StorageSources;
+import thestonedturtle.bankedexperience.util.IntIntMap;
+import thestonedturtle.bankedexperience.util.LruCache;
 
 import javax.inject.Inject;
 import javax.swing.SwingUtilities;
 import java.awt.image.BufferedImage;
-import java.util.Arrays;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.io.File;
 import java.util.Map;
-import java.util.Set;
-
-import static thestonedturtle.bankedexperience.BankedExperienceConfig.POTION_STORAGE_KEY;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Slf4j
 @PluginDescriptor(
@@ -52,16 +51,14 @@ import static thestonedturtle.bankedexperience.BankedExperienceConfig.POTION_STO
 public class BankedExperiencePlugin extends Plugin
 {
 	private static final BufferedImage ICON = ImageUtil.loadImageResource(BankedExperiencePlugin.class, "banked.png");
-	private static final Map<Integer, Integer> EMPTY_MAP = new HashMap<>();
 	public static final String CONFIG_GROUP = "bankedexperience";
-	private static final String VAULT_CONFIG_KEY = "grabFromSeedVault";
-	private static final String INVENTORY_CONFIG_KEY = "grabFromInventory";
-	private static final String LOOTING_BAG_CONFIG_KEY = "grabFromLootingBag";
-	private static final String FOSSIL_CHEST_CONFIG_KEY = "grabFromFossilChest";
-	public static final String ACTIVITY_CONFIG_KEY = "ITEM_";
-	private static final int LOOTING_BAG_ID = 516;
-
-	private static final int POTION_STORAGE_FAKE_INVENTORY_ID = -420;
+	// Recently logged in accounts whose state is kept in memory
+	static final int CACHED_ACCOUNTS = 4;
+	private static final File DATA_DIR = new File(RuneLite.RUNELITE_DIR, "banked-experience");
+	// Journal entries written before they are folded into a new snapshot
+	private static final int JOURNAL_COMPACT_ENTRIES = 10_000;
+	// History points written before the history file is rewritten
+	private static final int HISTORY_COMPACT_ENTRIES = 1_000;
 
 	@Inject
 	private Client client;
@@ -84,25 +81,61 @@ public class BankedExperiencePlugin extends Plugin
 	@Inject
 	private BankedExperienceConfig config;
 
+	@Inject
+	private ScheduledExecutorService executor;
+
 	@Provides
 	BankedExperienceConfig provideConfig(ConfigManager configManager)
 	{
 		return configManager.getConfig(BankedExperienceConfig.class);
 	}
 
-	private final Map<Integer, Integer> inventoryHashMap = new HashMap<>();
+	private InventoryTracker inventoryTracker = new InventoryTracker();
+	// The trackers of recently logged in accounts, so their sources don't have to be read from scratch again
+	private final Map<Long, InventoryTracker> trackerCache = new LruCache<>(CACHED_ACCOUNTS);
+	private final IntIntMap delta = new IntIntMap();
+	// Updates are collected for the entire client tick and handed to the EDT as one batch.
+	// Keep a spare batch to collect the next tick into while the previous one is being applied
+	private InventoryBatch pendingBatch = new InventoryBatch();
+	private final AtomicReference<InventoryBatch> spareBatch = new AtomicReference<>(new InventoryBatch());
+	@Getter
+	private long sourceUpdates;
+	@Getter
+	private long batchDispatches;
+	private ItemIdResolver itemIdResolver;
+	private StorageSources sources;
+	// Set whenever a polled source may have something to do, client ticks without pending work return immediately
+	private boolean pollPending;
+	@Getter(AccessLevel.PACKAGE)
+	private final EventCounters eventCounters = new EventCounters();
+	// Reused between reads, only grows
+	private final SourceSlots slots = new SourceSlots();
 	private NavigationButton navButton;
 	private BankedCalculatorPanel panel;
 	private boolean prepared = false;
 	private long accountHash = -1;
 
-	private boolean rebuildPotions = false;
-	private Set<Integer> potionStoreVars;
+	// Only accessed on the EDT
+	private ProfileStore profileStore;
+	// Only accessed on the executor
+	private BankStore bankStore;
+	// Only accessed on the executor
+	private XpHistory xpHistory;
+	// The account whose items are currently shown inside the panel, only accessed on the EDT
+	private long panelAccountHash = -1;
 
 	@Override
 	protected void startUp() throws Exception
 	{
-		panel = new BankedCalculatorPanel(client, config, skillIconManager, itemManager, configManager);
+		profileStore = new ProfileStore(configManager);
+		panel = new BankedCalculatorPanel(client, config, skillIconManager, itemManager, profileStore, executor);
+		final XpHistory history = new XpHistory(DATA_DIR.toPath(), HISTORY_COMPACT_ENTRIES);
+		xpHistory = history;
+		panel.setBankedXpListener((hash, skill, xp, items) ->
+		{
+			final long time = System.currentTimeMillis();
+			executor.execute(() -> history.record(hash, skill, time, xp, items));
+		});
 		navButton = NavigationButton.builder()
 				.tooltip("Banked XP")
 				.icon(ICON)
@@ -112,16 +145,22 @@ public class BankedExperiencePlugin extends Plugin
 
 		clientToolbar.addNavigation(navButton);
 
+		itemIdResolver = new ItemIdResolver(itemManager::getItemComposition);
+		sources = StorageSources.create(client);
+		bankStore = new BankStore(DATA_DIR.toPath(), JOURNAL_COMPACT_ENTRIES);
 		accountHash = client.getAccountHash();
+		switchPanelAccount(accountHash);
+		loadAccount(accountHash);
 
 		clientThread.invoke(() ->
 		{
 			switch (client.getGameState())
 			{
 				case LOGGED_IN:
-					if (config.grabFromPotionStorage() && client.getItemContainer(InventoryID.BANK) != null)
+					// Polled sources can't wait for their trigger if the bank is already open
+					for (final StorageSource source : sources.getPolledSources())
 					{
-						rebuildPotions = true;
+						invalidateSource(source);
 					}
 					// intentional fall through
 				case LOGIN_SCREEN:
@@ -135,7 +174,14 @@ public class BankedExperiencePlugin extends Plugin
 						ExperienceItem.prepareItemCompositions(itemManager);
 						Activity.prepareItemCompositions(itemManager);
 						Modifiers.prepare(itemManager);
-						loadSavedActivities();
+						SwingUtilities.invokeLater(() ->
+						{
+							if (panel != null)
+							{
+								profileStore.load();
+								panel.profilesLoaded(profileStore);
+							}
+						});
 						prepared = true;
 					}
 					return true;
@@ -148,10 +194,19 @@ public class BankedExperiencePlugin extends Plugin
 	@Override
 	protected void shutDown() throws Exception
 	{
+		log.debug("Hot events handled: {}", eventCounters);
+		profileStore.flush();
+		executor.execute(bankStore::close);
+		executor.execute(xpHistory::close);
+		panel.shutDown();
+		panelAccountHash = -1;
 		clientToolbar.removeNavigation(navButton);
 		panel = null;
 		navButton = null;
-		inventoryHashMap.clear();
+		inventoryTracker.clear();
+		trackerCache.clear();
+		itemIdResolver = null;
+		sources = null;
 		accountHash = -1;
 	}
 
@@ -163,229 +218,273 @@ public class BankedExperiencePlugin extends Plugin
 			return;
 		}
 
-		final int inventoryId;
-		switch (event.getKey())
+		final StorageSource source = sources.getByConfigKey(event.getKey());
+		if (source == null)
 		{
-			case VAULT_CONFIG_KEY:
-				inventoryId = InventoryID.SEED_VAULT;
-				break;
-			case INVENTORY_CONFIG_KEY:
-				inventoryId = InventoryID.INV;
-				break;
-			case LOOTING_BAG_CONFIG_KEY:
-				inventoryId = LOOTING_BAG_ID;
-				break;
-			case FOSSIL_CHEST_CONFIG_KEY:
-				inventoryId = WidgetInventoryInfo.FOSSIL_CHEST.getId();
-				break;
-			case POTION_STORAGE_KEY:
-				inventoryId = POTION_STORAGE_FAKE_INVENTORY_ID;
-				if (config.grabFromPotionStorage())
-				{
-					clientThread.invoke(() ->
-					{
-						if (client.getItemContainer(InventoryID.BANK) != null)
-						{
-							rebuildPotions = true;
-						}
-					});
-				}
-				break;
-			default:
-				return;
+			return;
 		}
 
-		SwingUtilities.invokeLater(() -> panel.setInventoryMap(inventoryId, EMPTY_MAP));
+		// Forget the source entirely so the next update is treated as a fresh copy of its contents
+		clientThread.invoke(() ->
+		{
+			inventoryTracker.remove(source.getId());
+			pendingBatch.remove(source.getId());
+			// Other accounts will read their sources from scratch
+			trackerCache.clear();
+			invalidateSource(source);
+		});
+		SwingUtilities.invokeLater(() ->
+		{
+			if (panel != null)
+			{
+				panel.clearAccountCache();
+			}
+		});
 	}
 
 	@Subscribe
 	public void onItemContainerChanged(ItemContainerChanged ev)
 	{
-		if (ev.getContainerId() == InventoryID.BANK
-				|| (ev.getContainerId() == InventoryID.SEED_VAULT && config.grabFromSeedVault())
-				|| (ev.getContainerId() == InventoryID.INV && config.grabFromInventory())
-				|| (ev.getContainerId() == LOOTING_BAG_ID && config.grabFromLootingBag()))
-		{
-			updateItemsFromItemContainer(ev.getContainerId(), ev.getItemContainer());
-		}
+		readSource(sources.getByContainerId(ev.getContainerId()));
 	}
 
 	@Subscribe
 	public void onWidgetLoaded(WidgetLoaded e)
 	{
-		if (!config.grabFromFossilChest())
+		readSource(sources.getByWidgetGroupId(e.getGroupId()));
+	}
+
+	@Subscribe
+	public void onAccountHashChanged(AccountHashChanged e)
+	{
+		if (accountHash == client.getAccountHash())
 		{
 			return;
 		}
+		// Finish the changes of the previous account before switching
+		flushPendingBatch();
+		if (accountHash != -1)
+		{
+			trackerCache.put(accountHash, inventoryTracker);
+		}
 
-		final WidgetInventoryInfo widgetInfo = WidgetInventoryInfo.getByGroupId(e.getGroupId());
-		if (widgetInfo == null)
+		accountHash = client.getAccountHash();
+		final InventoryTracker cached = accountHash == -1 ? null : trackerCache.remove(accountHash);
+		inventoryTracker = cached == null ? new InventoryTracker() : cached;
+		for (final StorageSource source : sources.getSources())
 		{
-			return;
+			source.reset();
 		}
 
-		final Widget w = client.getWidget(widgetInfo.getGroupId(), widgetInfo.getChildId());
-		if (w == null || w.getChildren() == null)
+		final long hash = accountHash;
+		SwingUtilities.invokeLater(() -> switchPanelAccount(hash));
+		loadAccount(hash);
+	}
+
+	/**
+	 * Shows the items of another account inside the panel. Must be called on the EDT.
+	 */
+	private void switchPanelAccount(final long hash)
+	{
+		if (panel == null || hash == panelAccountHash)
 		{
 			return;
 		}
 
-		final Map<Integer, Integer> m = new HashMap<>();
-		for (int i = 0; i < w.getChildren().length; i++)
+		panel.switchAccount(hash);
+		panelAccountHash = hash;
+	}
+
+	/**
+	 * Loads the last known items of this account in the background and shows them until its sources are seen again.
+	 * Must be called before any changes of this account are journaled.
+	 */
+	private void loadAccount(final long hash)
+	{
+		final StorageSources registry = sources;
+		final BankStore store = bankStore;
+		executor.execute(() ->
 		{
-			final Widget childWidget = w.getChild(i);
-			if (childWidget.getItemId() <= 0 || childWidget.getItemQuantity() <= 0)
+			final Map<Integer, IntIntMap> snapshot = store.load(hash);
+			if (snapshot == null)
 			{
-				continue;
+				return;
 			}
 
-			m.merge(childWidget.getItemId(), childWidget.getItemQuantity(), Integer::sum);
-		}
+			// Sources may have been disabled since they were saved
+			final JournalFrame disabled = new JournalFrame();
+			snapshot.keySet().removeIf(id ->
+			{
+				final StorageSource source = registry.getById(id);
+				if (source == null || !source.isEnabled(config))
+				{
+					disabled.removeSource(id);
+					return true;
+				}
+				return false;
+			});
+			store.append(hash, disabled);
 
-		updateInventoryMap(widgetInfo.getId(), m);
+			SwingUtilities.invokeLater(() ->
+			{
+				if (panel != null && panelAccountHash == hash)
+				{
+					panel.restoreSnapshot(snapshot);
+				}
+			});
+		});
 	}
 
-	@Subscribe
-	public void onAccountHashChanged(AccountHashChanged e)
+	private void readSource(final StorageSource source)
 	{
-		if (accountHash == client.getAccountHash())
+		if (source == null || !source.isEnabled(config) || !source.read(client, slots))
 		{
 			return;
 		}
-		accountHash = client.getAccountHash();
-		inventoryHashMap.clear();
 
-		SwingUtilities.invokeLater(panel::resetInventoryMaps);
+		// The first read of a source replaces whatever was restored from the snapshot
+		if (!inventoryTracker.contains(source.getId()))
+		{
+			pendingBatch.remove(source.getId());
+		}
+
+		// Only send the item quantities that have changed since the last update
+		delta.clear();
+		inventoryTracker.update(source.getId(), slots.getIds(), slots.getQtys(), slots.getCount(),
+			slots.getFingerprint(), source.isResolvingItems() ? itemIdResolver : ItemIdResolver::relevantOnly, delta);
+		if (!delta.isEmpty())
+		{
+			pendingBatch.add(source.getId(), delta);
+		}
 	}
 
-	private void updateItemsFromItemContainer(final int inventoryId, final ItemContainer c)
+	/**
+	 * Sends every source update from this client tick to the calculator in a single dispatch
+	 */
+	private void flushPendingBatch()
 	{
-		// Check if the contents have changed.
-		if (c == null)
+		if (pendingBatch.isEmpty())
 		{
 			return;
 		}
 
-		final Map<Integer, Integer> m = new HashMap<>();
-		for (Item item : c.getItems())
-		{
-			if (item.getId() == -1)
-			{
-				continue;
-			}
+		final InventoryBatch batch = pendingBatch;
+		final InventoryBatch spare = spareBatch.getAndSet(null);
+		pendingBatch = spare == null ? new InventoryBatch() : spare;
 
-			// Account for noted items, ignore placeholders.
-			int itemID = item.getId();
-			final ItemComposition itemComposition = itemManager.getItemComposition(itemID);
-			if (itemComposition.getPlaceholderTemplateId() != -1)
-			{
-				continue;
-			}
+		journalBatch(batch);
+		sourceUpdates += batch.getUpdates();
+		batchDispatches++;
+		log.debug("Dispatching {} source updates in one batch, {} dispatches saved so far", batch.getUpdates(), getSavedDispatches());
 
-			if (itemComposition.getNote() != -1)
+		SwingUtilities.invokeLater(() ->
+		{
+			if (panel != null)
 			{
-				itemID = itemComposition.getLinkedNoteId();
+				panel.applyInventoryBatch(batch);
 			}
+			batch.clear();
+			spareBatch.set(batch);
+		});
+	}
+
+	/**
+	 * Saves the changes inside this batch to the journal of the current account in the background
+	 */
+	private void journalBatch(final InventoryBatch batch)
+	{
+		final JournalFrame frame = new JournalFrame();
+		for (final int sourceId : batch.getRemoved())
+		{
+			frame.removeSource(sourceId);
+		}
 
-			final int qty = m.getOrDefault(itemID, 0) + item.getQuantity();
-			m.put(itemID, qty);
+		for (final Map.Entry<Integer, IntIntMap> entry : batch.getDeltas().entrySet())
+		{
+			final int sourceId = entry.getKey();
+			entry.getValue().forEach((itemId, qty) -> frame.add(sourceId, itemId, qty));
 		}
 
-		updateInventoryMap(inventoryId, m);
+		final long hash = accountHash;
+		final BankStore store = bankStore;
+		executor.execute(() -> store.append(hash, frame));
 	}
 
-	private void updateInventoryMap(final int inventoryId, final Map<Integer, Integer> m)
+	/**
+	 * @return how many EDT dispatches were avoided by batching source updates per client tick
+	 */
+	public long getSavedDispatches()
 	{
-		final int curHash = m.hashCode();
-		if (curHash != inventoryHashMap.getOrDefault(inventoryId, -1))
-		{
-			inventoryHashMap.put(inventoryId, curHash);
-			SwingUtilities.invokeLater(() -> panel.setInventoryMap(inventoryId, m));
-		}
+		return sourceUpdates - batchDispatches;
 	}
 
-	private void loadSavedActivities()
+	private void invalidateSource(final StorageSource source)
 	{
-		for (final ExperienceItem item : ExperienceItem.values())
+		if (source.isEnabled(config))
 		{
-			final String activityName = configManager.getConfiguration(CONFIG_GROUP, ACTIVITY_CONFIG_KEY + item.name());
-			if (activityName == null || activityName.equals(""))
-			{
-				continue;
-			}
-
-			for (final Activity activity : Activity.values())
-			{
-				if (activityName.equals(activity.name()))
-				{
-					item.setSelectedActivity(activity);
-					break;
-				}
-			}
+			source.invalidate();
+			pollPending = true;
 		}
 	}
 
 	@Subscribe
 	public void onScriptPostFired(ScriptPostFired event)
 	{
-		if (event.getScriptId() == ScriptID.BANKMAIN_FINISHBUILDING && config.grabFromPotionStorage())
+		eventCounters.scriptPostFired++;
+		if (!sources.isWatchedScript(event.getScriptId()))
+		{
+			return;
+		}
+
+		eventCounters.scriptPostFiredHandled++;
+		for (final StorageSource source : sources.getByInvalidateScriptId(event.getScriptId()))
 		{
-			rebuildPotions = true;
+			invalidateSource(source);
 		}
 	}
 
 	@Subscribe
 	public void onClientTick(ClientTick event)
 	{
-		if (rebuildPotions)
+		eventCounters.clientTicks++;
+		if (!pollPending && pendingBatch.isEmpty())
 		{
-			updatePotionStorageMap();
-			rebuildPotions = false;
+			return;
+		}
 
-			Widget w = client.getWidget(InterfaceID.Bankmain.POTIONSTORE_ITEMS);
-			if (w != null && potionStoreVars == null)
+		eventCounters.clientTicksHandled++;
+		if (pollPending)
+		{
+			pollPending = false;
+			for (final StorageSource source : sources.getPolledSources())
 			{
-				// cache varps that the potion store rebuilds on
-				int[] trigger = w.getVarTransmitTrigger();
-				potionStoreVars = new HashSet<>();
-				Arrays.stream(trigger).forEach(potionStoreVars::add);
+				if (source.isEnabled(config) && source.poll(client))
+				{
+					sources.indexVarps(source);
+					readSource(source);
+				}
 			}
 		}
+
+		flushPendingBatch();
 	}
 
 	@Subscribe
 	public void onVarbitChanged(VarbitChanged varbitChanged)
 	{
-		if (potionStoreVars != null && potionStoreVars.contains(varbitChanged.getVarpId()))
+		eventCounters.varbitChanged++;
+		final int varpId = varbitChanged.getVarpId();
+		if (!sources.isWatchedVarp(varpId))
 		{
-			rebuildPotions = true;
+			return;
 		}
-	}
-
-	// Copied mostly from BankPlugin:getPotionStoragePrice
-	private void updatePotionStorageMap()
-	{
-		final Map<Integer, Integer> potionQtyMap = new HashMap<>();
 
-		EnumComposition potionStorePotions = client.getEnum(EnumID.POTIONSTORE_POTIONS);
-		EnumComposition potionStoreUnfinishedPotions = client.getEnum(EnumID.POTIONSTORE_UNFINISHED_POTIONS);
-		for (EnumComposition e : new EnumComposition[]{potionStorePotions, potionStoreUnfinishedPotions})
+		final StorageSource source = sources.getByVarpId(varpId);
+		if (source != null && source.isEnabled(config))
 		{
-			for (int potionEnumId : e.getIntVals())
-			{
-				EnumComposition potionEnum = client.getEnum(potionEnumId);
-				client.runScript(ScriptID.POTIONSTORE_DOSES, potionEnumId);
-				int doses = client.getIntStack()[0];
-
-				if (doses > 0)
-				{
-					// Always pull the item ID for 1-dose potions
-					final int itemId = potionEnum.getIntValue(1);
-					potionQtyMap.put(itemId, doses);
-				}
-			}
+			eventCounters.varbitChangedHandled++;
+			source.varpChanged(varpId);
+			pollPending = true;
 		}
-
-		updateInventoryMap(POTION_STORAGE_FAKE_INVENTORY_ID, potionQtyMap);
 	}
 }
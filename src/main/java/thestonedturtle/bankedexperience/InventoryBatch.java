@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2026, TheStonedTurtle <https://github.com/TheStonedTurtle>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package thestonedturtle.bankedexperience;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import lombok.Getter;
+import thestonedturtle.bankedexperience.util.IntIntMap;
+
+/**
+ * Collects every source update from a single client tick so they can be applied to the calculator all at once.
+ * Removed sources are applied before the deltas, a source that is removed and then updated within the same batch
+ * will only contain the items from the updates after its removal.
+ */
+class InventoryBatch
+{
+	@Getter
+	private final Set<Integer> removed = new HashSet<>();
+	// The delta maps are kept after clearing so the batch can be reused without allocating
+	@Getter
+	private final Map<Integer, IntIntMap> deltas = new HashMap<>();
+	/**
+	 * The amount of source updates merged into this batch
+	 */
+	@Getter
+	private int updates;
+
+	void add(final int sourceId, final IntIntMap delta)
+	{
+		IntIntMap pending = deltas.get(sourceId);
+		if (pending == null)
+		{
+			pending = new IntIntMap();
+			deltas.put(sourceId, pending);
+		}
+
+		pending.addAll(delta);
+		updates++;
+	}
+
+	void remove(final int sourceId)
+	{
+		final IntIntMap pending = deltas.get(sourceId);
+		if (pending != null)
+		{
+			pending.clear();
+		}
+
+		removed.add(sourceId);
+		updates++;
+	}
+
+	boolean isEmpty()
+	{
+		return updates == 0;
+	}
+
+	void clear()
+	{
+		removed.clear();
+		deltas.values().forEach(IntIntMap::clear);
+		updates = 0;
+	}
+}
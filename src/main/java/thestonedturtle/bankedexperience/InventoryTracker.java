@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2026, TheStonedTurtle <https://github.com/TheStonedTurtle>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package thestonedturtle.bankedexperience;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntUnaryOperator;
+import thestonedturtle.bankedexperience.sources.SourceSlots;
+import thestonedturtle.bankedexperience.util.IntIntMap;
+
+/**
+ * Remembers the last seen slots of every item source so only the item quantities that changed since the previous
+ * update need to be sent to the calculator. Slot arrays are reused between updates so an unchanged source does not
+ * allocate anything.
+ */
+class InventoryTracker
+{
+	private static class Slots
+	{
+		private int[] ids = new int[0];
+		private int[] qtys = new int[0];
+		private int count;
+		private long fingerprint;
+	}
+
+	private final Map<Integer, Slots> sources = new HashMap<>();
+
+	/**
+	 * Compares the passed slots against the previously seen slots for this source.
+	 *
+	 * @param sourceId    the inventory id of the source
+	 * @param ids         item id inside each slot, {@link SourceSlots#EMPTY_SLOT} for empty slots
+	 * @param qtys        item quantity inside each slot
+	 * @param count       the amount of slots to read from the arrays
+	 * @param fingerprint the sum of {@link SourceSlots#slotFingerprint(int, int)} for every non-empty slot
+	 * @param resolver    converts a slot item id to the item id it should be counted as, {@link SourceSlots#EMPTY_SLOT} to skip it
+	 * @param delta       map to fill with item id to the change in quantity, left empty if nothing changed
+	 */
+	void update(final int sourceId, final int[] ids, final int[] qtys, final int count, final long fingerprint,
+		final IntUnaryOperator resolver, final IntIntMap delta)
+	{
+		Slots last = sources.get(sourceId);
+		if (last == null)
+		{
+			last = new Slots();
+			sources.put(sourceId, last);
+		}
+		else if (last.fingerprint == fingerprint)
+		{
+			// Same items in the same quantities, possibly in different slots, so nothing could have changed.
+			// The stored slots are left as is since they still add up to the same totals
+			return;
+		}
+
+		final int slots = Math.max(last.count, count);
+		for (int i = 0; i < slots; i++)
+		{
+			final int oldId = i < last.count ? last.ids[i] : SourceSlots.EMPTY_SLOT;
+			final int oldQty = i < last.count ? last.qtys[i] : 0;
+			final int id = i < count ? ids[i] : SourceSlots.EMPTY_SLOT;
+			final int qty = i < count ? qtys[i] : 0;
+			if (oldId == id && oldQty == qty)
+			{
+				continue;
+			}
+
+			// Only the changed slots need to be resolved, noted items and placeholders are handled by the resolver.
+			// Items that moved between slots will cancel themselves out as zeroed entries are removed
+			addDelta(delta, oldId, -oldQty, resolver);
+			addDelta(delta, id, qty, resolver);
+		}
+
+		if (last.ids.length < count)
+		{
+			last.ids = new int[count];
+			last.qtys = new int[count];
+		}
+		System.arraycopy(ids, 0, last.ids, 0, count);
+		System.arraycopy(qtys, 0, last.qtys, 0, count);
+		last.count = count;
+		last.fingerprint = fingerprint;
+	}
+
+	private static void addDelta(final IntIntMap delta, final int slotId, final int qty, final IntUnaryOperator resolver)
+	{
+		if (slotId == SourceSlots.EMPTY_SLOT || qty == 0)
+		{
+			return;
+		}
+
+		final int id = resolver.applyAsInt(slotId);
+		if (id == SourceSlots.EMPTY_SLOT)
+		{
+			return;
+		}
+
+		delta.add(id, qty);
+	}
+
+	/**
+	 * @return whether this source has been seen since it was last forgotten
+	 */
+	boolean contains(final int sourceId)
+	{
+		return sources.containsKey(sourceId);
+	}
+
+	/**
+	 * Forgets the slots for this source, the next update will treat every item as newly added
+	 */
+	void remove(final int sourceId)
+	{
+		sources.remove(sourceId);
+	}
+
+	void clear()
+	{
+		sources.clear();
+	}
+}
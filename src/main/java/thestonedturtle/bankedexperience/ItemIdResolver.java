@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2026, TheStonedTurtle <https://github.com/TheStonedTurtle>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package thestonedturtle.bankedexperience;
+
+import java.util.Arrays;
+import java.util.function.IntFunction;
+import java.util.function.IntUnaryOperator;
+import net.runelite.api.ItemComposition;
+import thestonedturtle.bankedexperience.data.RelevantItems;
+import thestonedturtle.bankedexperience.sources.SourceSlots;
+
+/**
+ * Converts item ids found inside item containers to the item id they should be counted as. Noted items are counted as
+ * their un-noted variant while placeholders and items that aren't {@link RelevantItems relevant} are skipped.
+ * <p>
+ * Every item id is only resolved through its {@link ItemComposition} once, the result is kept in a flat array indexed
+ * by item id for the rest of the session. Must be called on the client thread.
+ */
+class ItemIdResolver implements IntUnaryOperator
+{
+	private static final int UNRESOLVED = Integer.MIN_VALUE;
+
+	private final IntFunction<ItemComposition> compositions;
+	private int[] table = new int[0];
+
+	/**
+	 * @param compositions looks up the {@link ItemComposition} of an item id, normally ItemManager#getItemComposition
+	 */
+	ItemIdResolver(final IntFunction<ItemComposition> compositions)
+	{
+		this.compositions = compositions;
+	}
+
+	/**
+	 * @param itemId the item id inside the container slot
+	 * @return the item id to count this item as, or {@link SourceSlots#EMPTY_SLOT} if it should be skipped
+	 */
+	@Override
+	public int applyAsInt(final int itemId)
+	{
+		if (itemId < 0)
+		{
+			return SourceSlots.EMPTY_SLOT;
+		}
+
+		if (itemId >= table.length)
+		{
+			grow(itemId);
+		}
+
+		int id = table[itemId];
+		if (id == UNRESOLVED)
+		{
+			id = resolve(itemId);
+			table[itemId] = id;
+		}
+
+		return id;
+	}
+
+	private int resolve(final int itemId)
+	{
+		final ItemComposition itemComposition = compositions.apply(itemId);
+		if (itemComposition.getPlaceholderTemplateId() != -1)
+		{
+			return SourceSlots.EMPTY_SLOT;
+		}
+
+		final int id = itemComposition.getNote() != -1 ? itemComposition.getLinkedNoteId() : itemId;
+		return RelevantItems.isRelevant(id) ? id : SourceSlots.EMPTY_SLOT;
+	}
+
+	/**
+	 * Skips items that aren't relevant for sources whose item ids never need to be converted
+	 */
+	static int relevantOnly(final int itemId)
+	{
+		return RelevantItems.isRelevant(itemId) ? itemId : SourceSlots.EMPTY_SLOT;
+	}
+
+	private void grow(final int itemId)
+	{
+		final int oldLength = table.length;
+		// Item id 0 has no highest bit, so at least one slot is needed
+		table = Arrays.copyOf(table, Integer.highestOneBit(itemId | 1) << 1);
+		Arrays.fill(table, oldLength, table.length, UNRESOLVED);
+	}
+
+	void clear()
+	{
+		table = new int[0];
+	}
+}
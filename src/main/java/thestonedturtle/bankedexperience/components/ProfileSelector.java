@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2026, TheStonedTurtle <https://github.com/TheStonedTurtle>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package thestonedturtle.bankedexperience.components;
+
+import java.awt.BorderLayout;
+import java.awt.Color;
+import java.awt.GridLayout;
+import java.awt.Toolkit;
+import java.awt.datatransfer.StringSelection;
+import java.awt.event.ItemEvent;
+import java.io.IOException;
+import javax.swing.JButton;
+import javax.swing.JComboBox;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTextArea;
+import javax.swing.border.EmptyBorder;
+import lombok.extern.slf4j.Slf4j;
+import thestonedturtle.bankedexperience.BankedCalculator;
+import thestonedturtle.bankedexperience.data.Profile;
+import thestonedturtle.bankedexperience.persistence.PlanCodes;
+import thestonedturtle.bankedexperience.persistence.ProfileStore;
+
+/**
+ * Dropdown for switching between profiles with buttons to create, delete, export and import them
+ */
+@Slf4j
+public class ProfileSelector extends JPanel
+{
+	private static final String IMPORTED_NAME = "Imported";
+
+	private final ProfileStore profileStore;
+	private final BankedCalculator calc;
+	private final JComboBox<Profile> dropdown = new JComboBox<>();
+	// Prevents the dropdown listener from switching profiles while the entries are replaced
+	private boolean refreshing;
+
+	public ProfileSelector(final ProfileStore profileStore, final BankedCalculator calc)
+	{
+		this.profileStore = profileStore;
+		this.calc = calc;
+
+		setLayout(new BorderLayout(5, 0));
+		setBorder(new EmptyBorder(0, 0, 5, 0));
+
+		dropdown.setFocusable(false);
+		dropdown.setForeground(Color.WHITE);
+		dropdown.setToolTipText("Profiles store your selected activities, ignored items, modifiers, boost and multiplier");
+		dropdown.addItemListener(e ->
+		{
+			if (!refreshing && e.getStateChange() == ItemEvent.SELECTED)
+			{
+				calc.switchProfile((Profile) e.getItem());
+			}
+		});
+
+		final JButton addBtn = new JButton("+");
+		addBtn.setFocusable(false);
+		addBtn.setToolTipText("Create a new profile starting with the choices of the current profile");
+		addBtn.addActionListener(e -> createProfile());
+
+		final JButton removeBtn = new JButton("-");
+		removeBtn.setFocusable(false);
+		removeBtn.setToolTipText("Delete the current profile");
+		removeBtn.addActionListener(e -> deleteProfile());
+
+		final JButton exportBtn = new JButton("Export Plan");
+		exportBtn.setFocusable(false);
+		exportBtn.setToolTipText("Creates a code that others can import to use the current profile");
+		exportBtn.addActionListener(e -> exportPlan());
+
+		final JButton importBtn = new JButton("Import Plan");
+		importBtn.setFocusable(false);
+		importBtn.setToolTipText("Creates a new profile from a plan code");
+		importBtn.addActionListener(e -> importPlan());
+
+		final JPanel buttons = new JPanel(new GridLayout(1, 2, 2, 0));
+		buttons.add(addBtn);
+		buttons.add(removeBtn);
+
+		final JPanel planButtons = new JPanel(new GridLayout(1, 2, 5, 0));
+		planButtons.setBorder(new EmptyBorder(5, 0, 0, 0));
+		planButtons.add(exportBtn);
+		planButtons.add(importBtn);
+
+		add(dropdown, BorderLayout.CENTER);
+		add(buttons, BorderLayout.EAST);
+		add(planButtons, BorderLayout.SOUTH);
+
+		refresh();
+	}
+
+	/**
+	 * Replaces the dropdown entries with the profiles inside the store
+	 */
+	public void refresh()
+	{
+		refreshing = true;
+		dropdown.removeAllItems();
+		profileStore.getProfiles().forEach(dropdown::addItem);
+		dropdown.setSelectedItem(profileStore.getActive());
+		refreshing = false;
+	}
+
+	private void createProfile()
+	{
+		final String input = JOptionPane.showInputDialog(this, "Enter a name for the new profile:", "New profile",
+			JOptionPane.PLAIN_MESSAGE);
+		if (input == null || input.trim().isEmpty())
+		{
+			return;
+		}
+
+		final Profile profile = profileStore.create(input.trim());
+		if (profile == null)
+		{
+			JOptionPane.showMessageDialog(this, "A profile with this name already exists.", "New profile",
+				JOptionPane.WARNING_MESSAGE);
+			return;
+		}
+
+		calc.switchProfile(profile);
+		refresh();
+	}
+
+	private void deleteProfile()
+	{
+		if (profileStore.getProfiles().size() <= 1)
+		{
+			return;
+		}
+
+		final Profile profile = profileStore.getActive();
+		final int result = JOptionPane.showConfirmDialog(this, "Delete the profile " + profile.getName() + "?",
+			"Delete profile", JOptionPane.YES_NO_OPTION);
+		if (result != JOptionPane.YES_OPTION)
+		{
+			return;
+		}
+
+		profileStore.delete(profile);
+		calc.switchProfile(profileStore.getActive());
+		refresh();
+	}
+
+	private void exportPlan()
+	{
+		final int result = JOptionPane.showConfirmDialog(this, "Include your item quantities in the plan code?",
+			"Export plan", JOptionPane.YES_NO_CANCEL_OPTION);
+		if (result != JOptionPane.YES_OPTION && result != JOptionPane.NO_OPTION)
+		{
+			return;
+		}
+
+		final String code = PlanCodes.encode(profileStore.getActive(),
+			result == JOptionPane.YES_OPTION ? calc.getAccountItems() : null);
+		Toolkit.getDefaultToolkit().getSystemClipboard().setContents(new StringSelection(code), null);
+
+		final JTextArea text = new JTextArea(code, 6, 30);
+		text.setLineWrap(true);
+		text.setEditable(false);
+		JOptionPane.showMessageDialog(this, new JScrollPane(text), "Plan code copied to clipboard",
+			JOptionPane.PLAIN_MESSAGE);
+	}
+
+	private void importPlan()
+	{
+		final String code = JOptionPane.showInputDialog(this, "Paste a plan code:", "Import plan",
+			JOptionPane.PLAIN_MESSAGE);
+		if (code == null || code.trim().isEmpty())
+		{
+			return;
+		}
+
+		// Find an unused name for the imported profile
+		String name = IMPORTED_NAME;
+		for (int i = 2; profileStore.getByName(name) != null; i++)
+		{
+			name = IMPORTED_NAME + " " + i;
+		}
+
+		final PlanCodes.Plan plan;
+		try
+		{
+			plan = PlanCodes.decode(code, name);
+		}
+		catch (IOException e)
+		{
+			log.debug("Unable to import plan code", e);
+			JOptionPane.showMessageDialog(this, "Invalid plan code: " + e.getMessage(), "Import plan",
+				JOptionPane.WARNING_MESSAGE);
+			return;
+		}
+
+		profileStore.add(plan.getProfile());
+		calc.importPlan(plan.getProfile(), plan.getQuantities());
+		refresh();
+	}
+}
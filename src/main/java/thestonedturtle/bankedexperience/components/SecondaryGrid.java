@@ -24,19 +24,13 @@
  */
 package thestonedturtle.bankedexperience.components;
 
-import com.google.common.collect.LinkedListMultimap;
 import com.google.common.collect.Multimap;
-import lombok.Getter;
-import lombok.Value;
-import lombok.extern.slf4j.Slf4j;
-import net.runelite.api.gameval.ItemID;
 import net.runelite.client.ui.ColorScheme;
 import thestonedturtle.bankedexperience.BankedCalculator;
 import thestonedturtle.bankedexperience.data.Activity;
 import thestonedturtle.bankedexperience.data.BankedItem;
 import thestonedturtle.bankedexperience.data.ItemInfo;
-import thestonedturtle.bankedexperience.data.ItemStack;
-import thestonedturtle.bankedexperience.data.Secondaries;
+import thestonedturtle.bankedexperience.data.SecondaryRequirements;
 
 import javax.swing.BorderFactory;
 import javax.swing.JLabel;
@@ -44,37 +38,30 @@ import javax.swing.JPanel;
 import javax.swing.SwingConstants;
 import java.awt.*;
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.Map;
 
-@Slf4j
 public class SecondaryGrid extends JPanel
 {
-	@Value
-	private static class SecondaryInfo
-	{
-		BankedItem bankedItem;
-		double qty;
-	}
-
-	@Getter
-	private final Multimap<Integer, SecondaryInfo> secMap = LinkedListMultimap.create();
-	private final Map<Integer, ItemInfo> infoMap = new HashMap<>();
-	private final Map<Integer, Integer> availableMap = new HashMap<>();
+	private final SecondaryRequirements requirements;
 	private final BankedCalculator calc;
 
 	public SecondaryGrid(final BankedCalculator calc, final Collection<GridItem> items)
 	{
 		this.calc = calc;
+		this.requirements = new SecondaryRequirements(calc::getItemQtyFromBank);
 		setLayout(new GridLayout(0, 5, 1, 1));
 
 		updateSecMap(items);
 	}
 
+	public Multimap<Integer, SecondaryRequirements.Contribution> getSecMap()
+	{
+		return requirements.getContributions();
+	}
+
 	private void refreshUI()
 	{
 		removeAll();
-		for (final int itemID : secMap.keySet())
+		for (final int itemID : getSecMap().keySet())
 		{
 			final JLabel label = new JLabel();
 			label.setOpaque(true);
@@ -87,7 +74,7 @@ public class SecondaryGrid extends JPanel
 
 			double qty = 0;
 			final StringBuilder resources = new StringBuilder();
-			for (final SecondaryInfo info : secMap.get(itemID))
+			for (final SecondaryRequirements.Contribution info : getSecMap().get(itemID))
 			{
 				if (info.getQty() == 0)
 				{
@@ -98,13 +85,13 @@ public class SecondaryGrid extends JPanel
 				resources.append("<br/>");
 				resources.append(BankedCalculator.XP_FORMAT_COMMA.format(info.getQty()))
 					.append(" x ")
-					.append(info.getBankedItem().getItem().getItemInfo().getName());
+					.append(info.getItem().getItemInfo().getName());
 			}
 			calc.getItemManager().getImage(itemID, (int) Math.round(qty), qty > 0).addTo(label);
 
-			final ItemInfo info = infoMap.get(itemID);
+			final ItemInfo info = requirements.getInfo(itemID);
 			final String itemName = info == null ? "" : info.getName();
-			final int available = availableMap.getOrDefault(itemID, 0);
+			final int available = requirements.getAvailable(itemID);
 			final double result = available - qty;
 
 			final String tooltip = "<html>" + itemName
@@ -121,9 +108,7 @@ public class SecondaryGrid extends JPanel
 	// calculates the total required secondaries and links each secondary item by id to the banked items they come from
 	public void updateSecMap(final Collection<GridItem> items)
 	{
-		secMap.clear();
-		infoMap.clear();
-		availableMap.clear();
+		requirements.clear();
 		for (final GridItem item : items)
 		{
 			if (item.isIgnored())
@@ -139,72 +124,7 @@ public class SecondaryGrid extends JPanel
 				continue;
 			}
 
-			final int bankedQty = calc.getItemQty(item.getBankedItem());
-			if (bankedQty == 0)
-			{
-				continue;
-			}
-
-			// Ensure all items are stacked properly
-			final Secondaries secondaries = a.getSecondaries();
-			final Map<Integer, Double> qtyMap = new HashMap<>();
-
-			if (secondaries.getCustomHandler() instanceof Secondaries.ByDose)
-			{
-				final Secondaries.ByDose byDose = ((Secondaries.ByDose) secondaries.getCustomHandler());
-				final int firstId = byDose.getItems()[0];
-				int available = 0;
-				for (int i = 0; i < byDose.getItems().length; i++)
-				{
-					final int id = byDose.getItems()[i];
-					available += (this.calc.getItemQtyFromBank(id) * (i + 1));
-				}
-				availableMap.put(firstId, available);
-				qtyMap.merge(firstId, (double) bankedQty, Double::sum);
-				infoMap.put(firstId, byDose.getInfoItems()[0].getInfo());
-			}
-			else if (secondaries.getCustomHandler() instanceof Secondaries.Degrime)
-			{
-				Secondaries.Degrime handler = (Secondaries.Degrime) secondaries.getCustomHandler();
-				qtyMap.merge(ItemID.NATURERUNE, (double) handler.getTotalNaturesRequired(bankedQty), Double::sum);
-				infoMap.put(ItemID.NATURERUNE, new ItemInfo("Nature rune", true));
-			}
-			else if (secondaries.getCustomHandler() instanceof Secondaries.Crushable)
-			{
-				final Secondaries.Crushable crushable = (Secondaries.Crushable) secondaries.getCustomHandler();
-				final int crushedItemId = crushable.getInfoItems()[0].getId();
-				int available = 0;
-				for (final int itemId : crushable.getItems())
-				{
-					available += this.calc.getItemQtyFromBank(itemId);
-				}
-				availableMap.put(crushedItemId, available);
-				qtyMap.merge(crushedItemId, (double) bankedQty, Double::sum);
-				infoMap.put(crushedItemId, crushable.getInfoItems()[0].getInfo());
-			}
-			else if (secondaries.getCustomHandler() != null)
-			{
-				log.warn("Unhandled secondaries custom handler: {}", secondaries.getCustomHandler().getClass());
-			}
-			else
-			{
-				for (final ItemStack stack : secondaries.getItems())
-				{
-					qtyMap.merge(stack.getId(), stack.getQty() * bankedQty, Double::sum);
-					infoMap.put(stack.getId(), stack.getInfo());
-				}
-			}
-
-			// Map this quantity to this activity through the banked item
-			for (final Map.Entry<Integer, Double> entry : qtyMap.entrySet())
-			{
-				if (!availableMap.containsKey(entry.getKey()))
-				{
-					availableMap.put(entry.getKey(), calc.getItemQtyFromBank(entry.getKey()));
-				}
-
-				secMap.put(entry.getKey(), new SecondaryInfo(banked, entry.getValue()));
-			}
+			requirements.add(banked.getItem(), a, calc.getItemQty(banked));
 		}
 
 		refreshUI();
@@ -72,7 +72,7 @@ public class SelectionGrid extends JPanel
 				img,
 				qty,
 				calc.getEnabledModifiers(),
-				calc.getIgnoredItems().contains(item.getItem().name()),
+				calc.isIgnored(item.getItem()),
 				calc::setIgnoreAllItems,
 				calc.getXpRateModifier()
 			);
@@ -28,6 +28,7 @@ import javax.annotation.Nullable;
 import javax.swing.Icon;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.Setter;
 
 /**
  * Used with ComboBoxListRenderer to render an icon next to the text of the list entry.
@@ -41,4 +42,13 @@ public class ComboBoxIconEntry
 	private String text;
 	@Nullable
 	private Object data;
+	// Shown below the text inside the dropdown list
+	@Nullable
+	@Setter
+	private String description;
+
+	public ComboBoxIconEntry(final Icon icon, final String text, @Nullable final Object data)
+	{
+		this(icon, text, data, null);
+	}
 }
@@ -32,6 +32,7 @@ import javax.swing.ListCellRenderer;
 import javax.swing.border.EmptyBorder;
 import lombok.Setter;
 import net.runelite.client.ui.ColorScheme;
+import net.runelite.client.util.ColorUtil;
 import net.runelite.client.util.Text;
 
 /**
@@ -74,6 +75,12 @@ public final class ComboBoxIconListRenderer extends JLabel implements ListCellRe
 			final ComboBoxIconEntry e = (ComboBoxIconEntry) o;
 			text = e.getText();
 			setIcon(e.getIcon());
+			// The selected entry is rendered with an index of -1 and is kept to a single line
+			if (index != -1 && e.getDescription() != null)
+			{
+				text = "<html>" + text + "<br/><font color='" + ColorUtil.toHexColor(ColorScheme.MEDIUM_GRAY_COLOR) + "'>"
+					+ e.getDescription() + "</font></html>";
+			}
 		}
 		else
 		{
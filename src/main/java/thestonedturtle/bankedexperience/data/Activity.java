@@ -24,7 +24,6 @@
  */
 package thestonedturtle.bankedexperience.data;
 
-import com.google.common.collect.ImmutableMultimap;
 import com.google.common.collect.ImmutableSortedSet;
 import lombok.Getter;
 import net.runelite.api.ItemComposition;
@@ -1721,19 +1720,15 @@ public enum Activity
 	@Nullable
 	private final ExperienceItem linkedItem;
 
-	private static final ImmutableMultimap<ExperienceItem, Activity> ITEM_MAP;
 	public static final ImmutableSortedSet<Skill> BANKABLE_SKILLS;
 
 	static
 	{
-		final ImmutableMultimap.Builder<ExperienceItem, Activity> map = ImmutableMultimap.builder();
 		final ImmutableSortedSet.Builder<Skill> set = ImmutableSortedSet.orderedBy(Comparator.comparing(Skill::getName));
 		for (final Activity item : values())
 		{
-			map.put(item.getExperienceItem(), item);
 			set.add(item.getSkill());
 		}
-		ITEM_MAP = map.build();
 		BANKABLE_SKILLS = set.build();
 	}
 
@@ -1779,13 +1774,15 @@ public enum Activity
 	 */
 	public static List<Activity> getByExperienceItem(ExperienceItem item)
 	{
-		final Collection<Activity> activities = ITEM_MAP.get(item);
-		if (activities == null)
+		final int start = ActivityTable.start(item.ordinal());
+		final int end = ActivityTable.end(item.ordinal());
+		final List<Activity> activities = new ArrayList<>(end - start);
+		for (int i = start; i < end; i++)
 		{
-			return new ArrayList<>();
+			activities.add(ActivityTable.get(ActivityTable.activity(i)));
 		}
 
-		return new ArrayList<>(activities);
+		return activities;
 	}
 
 	/**
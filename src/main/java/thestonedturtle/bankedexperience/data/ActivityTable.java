@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2026, TheStonedTurtle <https://github.com/TheStonedTurtle>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package thestonedturtle.bankedexperience.data;
+
+import java.util.Collections;
+
+/**
+ * Read-only copies of the {@link Activity} values used while calculating, stored as parallel arrays indexed by
+ * activity ordinal so the calculation doesn't need to visit every activity object.
+ * <p>
+ * The activities of every {@link ExperienceItem} are indexed in compressed sparse row form: the activity ordinals of
+ * an item are {@code activities[start(item)]} up to {@code activities[end(item)]}, in declaration order.
+ */
+public final class ActivityTable
+{
+	private static final Activity[] ACTIVITIES = Activity.values();
+
+	// experience without modifiers, rounded the same way as Activity#getXpRate
+	private static final double[] XP = new double[ACTIVITIES.length];
+	private static final int[] LEVEL = new int[ACTIVITIES.length];
+	// ordinal of the ExperienceItem the activity outputs, -1 if it doesn't output one
+	private static final int[] LINKED_ITEM = new int[ACTIVITIES.length];
+	private static final double[] OUTPUT_QTY = new double[ACTIVITIES.length];
+
+	private static final int[] ITEM_STARTS = new int[ExperienceItem.values().length + 1];
+	private static final int[] ITEM_ACTIVITIES = new int[ACTIVITIES.length];
+
+	static
+	{
+		for (final Activity a : ACTIVITIES)
+		{
+			final int i = a.ordinal();
+			XP[i] = a.getXpRate(Collections.emptyList());
+			LEVEL[i] = a.getLevel();
+			LINKED_ITEM[i] = a.getLinkedItem() == null ? -1 : a.getLinkedItem().ordinal();
+			OUTPUT_QTY[i] = a.getOutput() == null ? 0 : a.getOutput().getQty();
+			ITEM_STARTS[a.getExperienceItem().ordinal() + 1]++;
+		}
+
+		for (int i = 1; i < ITEM_STARTS.length; i++)
+		{
+			ITEM_STARTS[i] += ITEM_STARTS[i - 1];
+		}
+
+		final int[] next = new int[ITEM_STARTS.length - 1];
+		System.arraycopy(ITEM_STARTS, 0, next, 0, next.length);
+		for (final Activity a : ACTIVITIES)
+		{
+			ITEM_ACTIVITIES[next[a.getExperienceItem().ordinal()]++] = a.ordinal();
+		}
+	}
+
+	private ActivityTable()
+	{
+	}
+
+	public static Activity get(final int activity)
+	{
+		return ACTIVITIES[activity];
+	}
+
+	public static double xp(final int activity)
+	{
+		return XP[activity];
+	}
+
+	public static int level(final int activity)
+	{
+		return LEVEL[activity];
+	}
+
+	public static int linkedItem(final int activity)
+	{
+		return LINKED_ITEM[activity];
+	}
+
+	public static double outputQty(final int activity)
+	{
+		return OUTPUT_QTY[activity];
+	}
+
+	/**
+	 * @return the index inside {@link #activity(int)} of the first activity of this item
+	 */
+	public static int start(final int item)
+	{
+		return ITEM_STARTS[item];
+	}
+
+	/**
+	 * @return the index inside {@link #activity(int)} after the last activity of this item
+	 */
+	public static int end(final int item)
+	{
+		return ITEM_STARTS[item + 1];
+	}
+
+	/**
+	 * @return the activity ordinal at this index of the item index
+	 */
+	public static int activity(final int index)
+	{
+		return ITEM_ACTIVITIES[index];
+	}
+
+	/**
+	 * @param limitLevel level to check the activity requirements against, -1/0 disables the limit
+	 * @return the ordinal of the first activity of this item available at this level, -1 if there is none
+	 */
+	public static int firstAvailable(final int item, final int limitLevel)
+	{
+		for (int i = ITEM_STARTS[item]; i < ITEM_STARTS[item + 1]; i++)
+		{
+			if (limitLevel <= 0 || LEVEL[ITEM_ACTIVITIES[i]] <= limitLevel)
+			{
+				return ITEM_ACTIVITIES[i];
+			}
+		}
+
+		return -1;
+	}
+}
@@ -26,13 +26,16 @@ package thestonedturtle.bankedexperience.data;
 
 import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.Setter;
 
 @AllArgsConstructor
 @Getter
 public class BankedItem
 {
 	private final ExperienceItem item;
-	private final int qty;
+	// Updated in place as the banked quantities change
+	@Setter
+	private int qty;
 
 	@Override
 	public String toString()
@@ -682,8 +682,8 @@ public enum ExperienceItem
 	// Stores the item composition info we use since we don't operate on the game thread
 	private ItemInfo itemInfo = null;
 
-	@Setter
-	private Activity selectedActivity;
+	// The selected activity of every item indexed by ordinal, replaced whenever another profile is used
+	private static Activity[] selections = new Activity[values().length];
 
 	private static final Multimap<Skill, ExperienceItem> SKILL_MAP = ArrayListMultimap.create();
 	private static final Map<Integer, ExperienceItem> ITEM_ID_MAP = new HashMap<>();
@@ -740,6 +740,24 @@ public enum ExperienceItem
 		return ITEM_ID_MAP.get(id);
 	}
 
+	/**
+	 * Uses another array to store the selected activities, indexed by ordinal
+	 */
+	public static void useSelections(final Activity[] selections)
+	{
+		ExperienceItem.selections = selections;
+	}
+
+	public Activity getSelectedActivity()
+	{
+		return selections[ordinal()];
+	}
+
+	public void setSelectedActivity(final Activity activity)
+	{
+		selections[ordinal()] = activity;
+	}
+
 	/**
 	 * Attaches the Item Composition to each ExperienceItem on client initial load
 	 * May be a better way to do this
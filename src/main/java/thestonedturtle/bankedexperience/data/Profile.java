@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2026, TheStonedTurtle <https://github.com/TheStonedTurtle>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package thestonedturtle.bankedexperience.data;
+
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Set;
+import lombok.Getter;
+import lombok.Setter;
+import net.runelite.api.Skill;
+import thestonedturtle.bankedexperience.data.modifiers.Modifier;
+
+/**
+ * A named plan holding everything the player can choose inside the calculator. Selected activities are kept in an
+ * array indexed by {@link ExperienceItem} ordinal so using another profile only swaps the array.
+ * <p>
+ * The selections may hold a fallback activity when the picked activity requires a higher level, the picked activity
+ * itself is kept separately so it is never lost.
+ */
+@Getter
+public class Profile
+{
+	public static final String DEFAULT_NAME = "Default";
+
+	private final String name;
+	// activity shown for every ExperienceItem indexed by ordinal
+	private final Activity[] selections = new Activity[ExperienceItem.values().length];
+	// activity picked by the player for every ExperienceItem indexed by ordinal, only these are saved
+	private final Activity[] choices = new Activity[selections.length];
+	// ordinals of the ignored ExperienceItems
+	private final BitSet ignoredItems = new BitSet(selections.length);
+	// see modifierKey
+	private final Set<String> enabledModifiers = new HashSet<>();
+	@Setter
+	private int boost;
+	@Setter
+	private int xpMultiplier = 1;
+
+	public Profile(final String name)
+	{
+		this.name = name;
+	}
+
+	/**
+	 * @return a new profile with the same choices as this one
+	 */
+	public Profile copy(final String name)
+	{
+		final Profile copy = new Profile(name);
+		System.arraycopy(selections, 0, copy.selections, 0, selections.length);
+		System.arraycopy(choices, 0, copy.choices, 0, choices.length);
+		copy.ignoredItems.or(ignoredItems);
+		copy.enabledModifiers.addAll(enabledModifiers);
+		copy.boost = boost;
+		copy.xpMultiplier = xpMultiplier;
+		return copy;
+	}
+
+	/**
+	 * Records an activity picked by the player and shows it
+	 */
+	public void choose(final Activity activity)
+	{
+		final int ordinal = activity.getExperienceItem().ordinal();
+		selections[ordinal] = activity;
+		choices[ordinal] = activity;
+	}
+
+	/**
+	 * @return the picked activity of every item, falling back to the shown activity for items without one
+	 */
+	public Activity[] copySelections()
+	{
+		final Activity[] copy = selections.clone();
+		for (int i = 0; i < choices.length; i++)
+		{
+			if (choices[i] != null)
+			{
+				copy[i] = choices[i];
+			}
+		}
+		return copy;
+	}
+
+	/**
+	 * Modifier names are only unique within their skill
+	 */
+	public static String modifierKey(final Modifier modifier)
+	{
+		return modifierKey(modifier.getSkill(), modifier.getName());
+	}
+
+	public static String modifierKey(final Skill skill, final String name)
+	{
+		return skill.getName() + ":" + name;
+	}
+
+	@Override
+	public String toString()
+	{
+		return name;
+	}
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2026, TheStonedTurtle <https://github.com/TheStonedTurtle>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package thestonedturtle.bankedexperience.data;
+
+import java.util.BitSet;
+import net.runelite.api.gameval.ItemID;
+
+/**
+ * Every item id referenced by an {@link ExperienceItem} or {@link Secondaries}, including every dose of by dose items.
+ * Items outside of this set can never change a calculation so they are dropped as soon as they are read.
+ * Noted items are not included as they are converted to their un-noted variant before being checked.
+ */
+public final class RelevantItems
+{
+	private static final BitSet ITEM_IDS = new BitSet();
+
+	static
+	{
+		for (final ExperienceItem item : ExperienceItem.values())
+		{
+			for (final int id : item.getItemIds())
+			{
+				ITEM_IDS.set(id);
+			}
+		}
+
+		for (final Secondaries secondaries : Secondaries.values())
+		{
+			for (final ItemStack stack : secondaries.getItems())
+			{
+				ITEM_IDS.set(stack.getId());
+			}
+
+			final Secondaries.SecondaryHandler handler = secondaries.getCustomHandler();
+			if (handler == null)
+			{
+				continue;
+			}
+
+			for (final ItemStack stack : handler.getInfoItems())
+			{
+				ITEM_IDS.set(stack.getId());
+			}
+
+			if (handler instanceof Secondaries.ByDose)
+			{
+				for (final int id : ((Secondaries.ByDose) handler).getItems())
+				{
+					ITEM_IDS.set(id);
+				}
+			}
+			else if (handler instanceof Secondaries.Crushable)
+			{
+				for (final int id : ((Secondaries.Crushable) handler).getItems())
+				{
+					ITEM_IDS.set(id);
+				}
+			}
+			else if (handler instanceof Secondaries.Degrime)
+			{
+				ITEM_IDS.set(ItemID.NATURERUNE);
+			}
+		}
+	}
+
+	/**
+	 * @param itemId un-noted item id
+	 * @return whether the quantity of this item is used by any calculation
+	 */
+	public static boolean isRelevant(final int itemId)
+	{
+		return itemId >= 0 && ITEM_IDS.get(itemId);
+	}
+
+	/**
+	 * @return the amount of relevant item ids
+	 */
+	public static int size()
+	{
+		return ITEM_IDS.cardinality();
+	}
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2026, TheStonedTurtle <https://github.com/TheStonedTurtle>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package thestonedturtle.bankedexperience.data;
+
+import com.google.common.collect.LinkedListMultimap;
+import com.google.common.collect.Multimap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntUnaryOperator;
+import javax.annotation.Nullable;
+import lombok.Getter;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.gameval.ItemID;
+import thestonedturtle.bankedexperience.util.IntDoubleMap;
+import thestonedturtle.bankedexperience.util.IntIntMap;
+
+/**
+ * Totals the secondaries required by the selected activities of banked items and how many of them are banked.
+ * Does not depend on the UI so it can be used off the EDT, a single instance must only be used by one thread.
+ */
+@Slf4j
+public class SecondaryRequirements
+{
+	@Value
+	public static class Contribution
+	{
+		ExperienceItem item;
+		double qty;
+	}
+
+	// secondary item id -> the banked items requiring it and how many they require
+	@Getter
+	private final Multimap<Integer, Contribution> contributions = LinkedListMultimap.create();
+	private final Map<Integer, ItemInfo> infoMap = new HashMap<>();
+	private final IntIntMap availableMap = new IntIntMap();
+	// Reused for every banked item to stack its secondaries
+	private final IntDoubleMap qtyMap = new IntDoubleMap();
+	// item id -> banked quantity
+	private final IntUnaryOperator bank;
+
+	public SecondaryRequirements(final IntUnaryOperator bank)
+	{
+		this.bank = bank;
+	}
+
+	public void clear()
+	{
+		contributions.clear();
+		infoMap.clear();
+		availableMap.clear();
+	}
+
+	/**
+	 * Adds the secondaries required to do this activity for every banked item
+	 *
+	 * @param bankedQty the amount of the item, including any cascaded items
+	 */
+	public void add(final ExperienceItem item, final Activity a, final int bankedQty)
+	{
+		final Secondaries secondaries = a.getSecondaries();
+		if (secondaries == null || bankedQty == 0)
+		{
+			return;
+		}
+
+		// Ensure all items are stacked properly
+		qtyMap.clear();
+
+		if (secondaries.getCustomHandler() instanceof Secondaries.ByDose)
+		{
+			final Secondaries.ByDose byDose = ((Secondaries.ByDose) secondaries.getCustomHandler());
+			final int firstId = byDose.getItems()[0];
+			int available = 0;
+			for (int i = 0; i < byDose.getItems().length; i++)
+			{
+				final int id = byDose.getItems()[i];
+				available += (bank.applyAsInt(id) * (i + 1));
+			}
+			availableMap.put(firstId, available);
+			qtyMap.add(firstId, bankedQty);
+			infoMap.put(firstId, byDose.getInfoItems()[0].getInfo());
+		}
+		else if (secondaries.getCustomHandler() instanceof Secondaries.Degrime)
+		{
+			Secondaries.Degrime handler = (Secondaries.Degrime) secondaries.getCustomHandler();
+			qtyMap.add(ItemID.NATURERUNE, handler.getTotalNaturesRequired(bankedQty));
+			infoMap.put(ItemID.NATURERUNE, new ItemInfo("Nature rune", true));
+		}
+		else if (secondaries.getCustomHandler() instanceof Secondaries.Crushable)
+		{
+			final Secondaries.Crushable crushable = (Secondaries.Crushable) secondaries.getCustomHandler();
+			final int crushedItemId = crushable.getInfoItems()[0].getId();
+			int available = 0;
+			for (final int itemId : crushable.getItems())
+			{
+				available += bank.applyAsInt(itemId);
+			}
+			availableMap.put(crushedItemId, available);
+			qtyMap.add(crushedItemId, bankedQty);
+			infoMap.put(crushedItemId, crushable.getInfoItems()[0].getInfo());
+		}
+		else if (secondaries.getCustomHandler() != null)
+		{
+			log.warn("Unhandled secondaries custom handler: {}", secondaries.getCustomHandler().getClass());
+		}
+		else
+		{
+			for (final ItemStack stack : secondaries.getItems())
+			{
+				qtyMap.add(stack.getId(), stack.getQty() * bankedQty);
+				infoMap.put(stack.getId(), stack.getInfo());
+			}
+		}
+
+		// Map this quantity to this activity through the banked item
+		qtyMap.forEach((itemId, qty) ->
+		{
+			if (!availableMap.containsKey(itemId))
+			{
+				availableMap.put(itemId, bank.applyAsInt(itemId));
+			}
+
+			contributions.put(itemId, new Contribution(item, qty));
+		});
+	}
+
+	/**
+	 * @return the total amount of this secondary required by every banked item
+	 */
+	public double getRequired(final int itemId)
+	{
+		double qty = 0;
+		for (final Contribution contribution : contributions.get(itemId))
+		{
+			qty += contribution.getQty();
+		}
+		return qty;
+	}
+
+	public int getAvailable(final int itemId)
+	{
+		return availableMap.get(itemId);
+	}
+
+	@Nullable
+	public ItemInfo getInfo(final int itemId)
+	{
+		return infoMap.get(itemId);
+	}
+}
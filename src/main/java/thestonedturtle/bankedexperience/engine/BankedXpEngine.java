@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2026, TheStonedTurtle <https://github.com/TheStonedTurtle>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package thestonedturtle.bankedexperience.engine;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RecursiveTask;
+import net.runelite.api.Skill;
+import thestonedturtle.bankedexperience.data.Activity;
+import thestonedturtle.bankedexperience.data.ActivityTable;
+import thestonedturtle.bankedexperience.data.ExperienceItem;
+import thestonedturtle.bankedexperience.data.SecondaryRequirements;
+import thestonedturtle.bankedexperience.data.modifiers.Modifier;
+
+/**
+ * Calculates the banked experience of a skill from a {@link BankedXpInput} without touching the UI, the client or
+ * the selected activities stored inside {@link ExperienceItem}. Can be used from any thread.
+ */
+public final class BankedXpEngine
+{
+	private static final int ITEM_COUNT = ExperienceItem.values().length;
+
+	private BankedXpEngine()
+	{
+	}
+
+	public static BankedXpResult calculate(final BankedXpInput input, final Skill skill)
+	{
+		final int level = input.getLevels().getOrDefault(skill, 1);
+		final int limitLevel = input.isLimitToCurrentLevel() ? level + input.getBoost() : -1;
+
+		// Choose the activity of every item without changing the selections of the profile
+		final Collection<ExperienceItem> items = ExperienceItem.getBySkill(skill);
+		final Activity[] activities = new Activity[ITEM_COUNT];
+		final int[] bankedQtys = new int[ITEM_COUNT];
+		for (final ExperienceItem item : items)
+		{
+			bankedQtys[item.ordinal()] = getExperienceItemQty(input, item);
+
+			Activity a = input.getSelection(item.ordinal());
+			if (a == null || (limitLevel > 0 && limitLevel < ActivityTable.level(a.ordinal())))
+			{
+				final int first = ActivityTable.firstAvailable(item.ordinal(), limitLevel);
+				a = first < 0 ? null : ActivityTable.get(first);
+			}
+			activities[item.ordinal()] = a;
+		}
+
+		final double[] cascaded = new double[ITEM_COUNT];
+		CascadeGraph graph = null;
+		if (input.isCascade())
+		{
+			graph = CascadeGraph.build(items, item -> activities[item.ordinal()]);
+			graph.compute(bankedQtys, input::isIgnored, cascaded);
+		}
+
+		final int[] qtys = new int[ITEM_COUNT];
+		final double[] xpRates = new double[ITEM_COUNT];
+		final List<BankedXpResult.Row> rows = new ArrayList<>();
+		final SecondaryRequirements secondaries = new SecondaryRequirements(input::getQty);
+		double totalXp = 0;
+		int totalItems = 0;
+		for (final ExperienceItem item : items)
+		{
+			final int ordinal = item.ordinal();
+			final Activity a = activities[ordinal];
+			final int qty = bankedQtys[ordinal] + (int) cascaded[ordinal];
+			final double xpEach;
+			if (a == null)
+			{
+				xpEach = 0;
+			}
+			else
+			{
+				xpEach = input.getXpRate(a.ordinal()) * input.getXpMultiplier();
+			}
+			qtys[ordinal] = qty;
+			xpRates[ordinal] = xpEach;
+
+			if (qty <= 0)
+			{
+				continue;
+			}
+
+			final boolean ignored = input.isIgnored(ordinal);
+			final BankedXpResult.Row row = new BankedXpResult.Row(item, qty, a, xpEach, ignored);
+			rows.add(row);
+			totalXp += row.getXp();
+
+			if (!ignored)
+			{
+				totalItems += qty;
+				if (a != null)
+				{
+					secondaries.add(item, a, qty);
+				}
+			}
+		}
+
+		return new BankedXpResult(skill, level, rows, secondaries, totalXp, totalItems, qtys, xpRates, graph, input);
+	}
+
+	/**
+	 * Resolves the xp rate of every {@link Activity} with the passed modifiers applied. Skilling outfits read their
+	 * buttons while doing so, which means this has to be called on the EDT before the input is handed to other threads.
+	 */
+	public static double[] resolveXpRates(final Collection<Modifier> modifiers)
+	{
+		final Map<Skill, List<Modifier>> bySkill = new EnumMap<>(Skill.class);
+		for (final Modifier modifier : modifiers)
+		{
+			bySkill.computeIfAbsent(modifier.getSkill(), k -> new ArrayList<>()).add(modifier);
+		}
+
+		final Activity[] activities = Activity.values();
+		final double[] xpRates = new double[activities.length];
+		for (int i = 0; i < activities.length; i++)
+		{
+			// Modifiers need the activity itself, without any the table already holds the rate
+			final List<Modifier> skillModifiers = bySkill.get(activities[i].getSkill());
+			xpRates[i] = skillModifiers == null ? ActivityTable.xp(i) : activities[i].getXpRate(skillModifiers);
+		}
+
+		return xpRates;
+	}
+
+	/**
+	 * Summarizes every bankable skill in parallel, each skill is calculated as its own task. The tasks run inside the
+	 * pool of the calling worker thread, or the common pool when not called from one.
+	 */
+	public static Map<Skill, SkillSummary> summarizeAll(final BankedXpInput input)
+	{
+		final Skill[] skills = Activity.BANKABLE_SKILLS.toArray(new Skill[0]);
+		return new SummaryTask(input, skills, 0, skills.length).invoke();
+	}
+
+	public static SkillSummary summarize(final BankedXpInput input, final Skill skill)
+	{
+		return SkillSummary.of(calculate(input, skill), input.getExperience().getOrDefault(skill, 0));
+	}
+
+	/**
+	 * Splits the skills in half until a single skill remains
+	 */
+	private static class SummaryTask extends RecursiveTask<Map<Skill, SkillSummary>>
+	{
+		private final BankedXpInput input;
+		private final Skill[] skills;
+		private final int from;
+		private final int to;
+
+		SummaryTask(final BankedXpInput input, final Skill[] skills, final int from, final int to)
+		{
+			this.input = input;
+			this.skills = skills;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected Map<Skill, SkillSummary> compute()
+		{
+			if (to - from <= 1)
+			{
+				final Map<Skill, SkillSummary> summaries = new EnumMap<>(Skill.class);
+				if (to > from)
+				{
+					summaries.put(skills[from], summarize(input, skills[from]));
+				}
+				return summaries;
+			}
+
+			final int middle = (from + to) >>> 1;
+			final SummaryTask left = new SummaryTask(input, skills, from, middle);
+			left.fork();
+			final Map<Skill, SkillSummary> summaries = new SummaryTask(input, skills, middle, to).compute();
+			summaries.putAll(left.join());
+			return summaries;
+		}
+	}
+
+	private static int getExperienceItemQty(final BankedXpInput input, final ExperienceItem item)
+	{
+		int qty = 0;
+		for (int i = 0; i < item.getItemIds().length; i++)
+		{
+			final int multiplier = item.isByDose() ? i + 1 : 1;
+			qty += input.getQty(item.getItemIds()[i]) * multiplier;
+		}
+
+		return qty;
+	}
+}
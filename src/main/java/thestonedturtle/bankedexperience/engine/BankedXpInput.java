@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2026, TheStonedTurtle <https://github.com/TheStonedTurtle>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package thestonedturtle.bankedexperience.engine;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import javax.annotation.Nullable;
+import lombok.Getter;
+import net.runelite.api.Skill;
+import thestonedturtle.bankedexperience.data.Activity;
+import thestonedturtle.bankedexperience.util.IntIntMap;
+
+/**
+ * Copies of everything the banked experience is calculated from. The containers passed in are copied and only read
+ * through this class, so the same input can be shared between threads.
+ */
+public final class BankedXpInput
+{
+	// item id -> banked quantity
+	private final IntIntMap quantities;
+	// selected activity of every ExperienceItem indexed by ordinal, null entries use the first available activity
+	private final Activity[] selections;
+	// ordinals of the ignored ExperienceItems
+	private final BitSet ignoredItems;
+	// xp rate of every Activity indexed by ordinal with the enabled modifiers applied, see BankedXpEngine#resolveXpRates
+	private final double[] xpRates;
+	@Getter
+	private final Map<Skill, Integer> levels;
+	@Getter
+	private final Map<Skill, Integer> experience;
+	@Getter
+	private final int boost;
+	@Getter
+	private final int xpMultiplier;
+	@Getter
+	private final boolean limitToCurrentLevel;
+	@Getter
+	private final boolean cascade;
+
+	public BankedXpInput(final IntIntMap quantities, final Activity[] selections, final BitSet ignoredItems,
+		final double[] xpRates, final Map<Skill, Integer> levels, final Map<Skill, Integer> experience, final int boost,
+		final int xpMultiplier, final boolean limitToCurrentLevel, final boolean cascade)
+	{
+		this.quantities = new IntIntMap(quantities.size());
+		this.quantities.putAll(quantities);
+		this.selections = selections.clone();
+		this.ignoredItems = (BitSet) ignoredItems.clone();
+		this.xpRates = xpRates.clone();
+		this.levels = Collections.unmodifiableMap(new HashMap<>(levels));
+		this.experience = Collections.unmodifiableMap(new HashMap<>(experience));
+		this.boost = boost;
+		this.xpMultiplier = xpMultiplier;
+		this.limitToCurrentLevel = limitToCurrentLevel;
+		this.cascade = cascade;
+	}
+
+	/**
+	 * @return the banked quantity of this item id
+	 */
+	public int getQty(final int itemId)
+	{
+		return quantities.get(itemId);
+	}
+
+	public boolean isBankEmpty()
+	{
+		return quantities.isEmpty();
+	}
+
+	/**
+	 * @return the selected activity of the ExperienceItem with this ordinal, null to use the first available activity
+	 */
+	@Nullable
+	public Activity getSelection(final int ordinal)
+	{
+		return selections[ordinal];
+	}
+
+	/**
+	 * @return whether the ExperienceItem with this ordinal is ignored
+	 */
+	public boolean isIgnored(final int ordinal)
+	{
+		return ignoredItems.get(ordinal);
+	}
+
+	/**
+	 * @return the xp rate of the Activity with this ordinal with the enabled modifiers applied
+	 */
+	public double getXpRate(final int ordinal)
+	{
+		return xpRates[ordinal];
+	}
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2026, TheStonedTurtle <https://github.com/TheStonedTurtle>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package thestonedturtle.bankedexperience.engine;
+
+import java.util.Collections;
+import java.util.List;
+import javax.annotation.Nullable;
+import lombok.Getter;
+import lombok.Value;
+import net.runelite.api.Skill;
+import thestonedturtle.bankedexperience.data.Activity;
+import thestonedturtle.bankedexperience.data.ExperienceItem;
+import thestonedturtle.bankedexperience.data.SecondaryRequirements;
+
+/**
+ * The banked experience of a single skill as calculated by {@link BankedXpEngine}. Never changed once created.
+ */
+public final class BankedXpResult
+{
+	@Value
+	public static class Row
+	{
+		ExperienceItem item;
+		// including cascaded items
+		int qty;
+		@Nullable
+		Activity activity;
+		double xpEach;
+		boolean ignored;
+
+		public double getXp()
+		{
+			return ignored ? 0 : qty * xpEach;
+		}
+	}
+
+	@Getter
+	private final Skill skill;
+	@Getter
+	private final int level;
+	// every item of the skill with a quantity
+	@Getter
+	private final List<Row> rows;
+	@Getter
+	private final SecondaryRequirements secondaries;
+	@Getter
+	private final double totalXp;
+	// quantity of the items that aren't ignored
+	@Getter
+	private final int totalItems;
+
+	// what this result was calculated from
+	@Getter
+	private final BankedXpInput input;
+
+	// indexed by ExperienceItem ordinal
+	private final int[] qtys;
+	private final double[] xpRates;
+	@Nullable
+	private final CascadeGraph cascadeGraph;
+
+	BankedXpResult(final Skill skill, final int level, final List<Row> rows, final SecondaryRequirements secondaries,
+		final double totalXp, final int totalItems, final int[] qtys, final double[] xpRates,
+		@Nullable final CascadeGraph cascadeGraph, final BankedXpInput input)
+	{
+		this.skill = skill;
+		this.level = level;
+		this.rows = Collections.unmodifiableList(rows);
+		this.secondaries = secondaries;
+		this.totalXp = totalXp;
+		this.totalItems = totalItems;
+		this.qtys = qtys;
+		this.xpRates = xpRates;
+		this.cascadeGraph = cascadeGraph;
+		this.input = input;
+	}
+
+	/**
+	 * @return the quantity of this item including cascaded items, 0 for items of other skills
+	 */
+	public int getQty(final ExperienceItem item)
+	{
+		return qtys[item.ordinal()];
+	}
+
+	/**
+	 * @return the experience of a single item with the enabled modifiers and multiplier applied
+	 */
+	public double getXpRate(final ExperienceItem item)
+	{
+		return xpRates[item.ordinal()];
+	}
+
+	/**
+	 * @return every item that isn't ignored and cascades into this item, empty if cascading is disabled
+	 */
+	public List<ExperienceItem> getCascadeSources(final ExperienceItem item)
+	{
+		if (cascadeGraph == null)
+		{
+			return Collections.emptyList();
+		}
+
+		return cascadeGraph.getSources(item, input::isIgnored);
+	}
+}
@@ -0,0 +1,259 @@
+/*
+ * Copyright (c) 2026, TheStonedTurtle <https://github.com/TheStonedTurtle>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package thestonedturtle.bankedexperience.engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import lombok.extern.slf4j.Slf4j;
+import thestonedturtle.bankedexperience.data.Activity;
+import thestonedturtle.bankedexperience.data.ActivityTable;
+import thestonedturtle.bankedexperience.data.ExperienceItem;
+
+/**
+ * The items of a skill linked by the items their selected activity outputs, compiled into a topological order so
+ * the cascaded quantity of every item is calculated in a single pass.
+ * <p>
+ * Every item outputs at most one other item so the links form a forest. The cascaded quantity of an item is the sum
+ * of {@code output * (quantity + cascaded quantity)} over every item that isn't ignored and outputs it. Items that
+ * output each other in a cycle never cascade.
+ */
+@Slf4j
+public final class CascadeGraph
+{
+	private static final int ITEM_COUNT = ExperienceItem.values().length;
+
+	// Every item of the graph, including the ones inside cycles
+	private final ExperienceItem[] items;
+	// Items ordered so each item comes after every item that cascades into it
+	private final ExperienceItem[] order;
+	// position inside order of the item each item outputs, -1 if it doesn't output an item of this graph
+	private final int[] target;
+	// how many of the target item a single item produces
+	private final double[] outputQty;
+	// positions inside order of the items outputting each item, stored as ranges inside childIndexes
+	private final int[] childStarts;
+	private final int[] childIndexes;
+
+	private CascadeGraph(final ExperienceItem[] items, final ExperienceItem[] order, final int[] target,
+		final double[] outputQty)
+	{
+		this.items = items;
+		this.order = order;
+		this.target = target;
+		this.outputQty = outputQty;
+
+		childStarts = new int[order.length + 1];
+		for (final int t : target)
+		{
+			if (t >= 0)
+			{
+				childStarts[t + 1]++;
+			}
+		}
+		for (int i = 0; i < order.length; i++)
+		{
+			childStarts[i + 1] += childStarts[i];
+		}
+
+		childIndexes = new int[childStarts[order.length]];
+		final int[] next = Arrays.copyOf(childStarts, order.length);
+		for (int i = 0; i < order.length; i++)
+		{
+			if (target[i] >= 0)
+			{
+				childIndexes[next[target[i]]++] = i;
+			}
+		}
+	}
+
+	/**
+	 * @param selected returns the selected activity of an item, or null if it has none
+	 */
+	public static CascadeGraph build(final Collection<ExperienceItem> skillItems,
+		final Function<ExperienceItem, Activity> selected)
+	{
+		final ExperienceItem[] nodes = skillItems.toArray(new ExperienceItem[0]);
+		final int n = nodes.length;
+		final int[] index = new int[ITEM_COUNT];
+		Arrays.fill(index, -1);
+		for (int i = 0; i < n; i++)
+		{
+			index[nodes[i].ordinal()] = i;
+		}
+
+		final Activity[] activities = new Activity[n];
+		for (int i = 0; i < n; i++)
+		{
+			activities[i] = selected.apply(nodes[i]);
+		}
+
+		final int[] parent = new int[n];
+		final double[] output = new double[n];
+		final int[] children = new int[n];
+		for (int i = 0; i < n; i++)
+		{
+			parent[i] = -1;
+			final Activity a = activities[i];
+			final int linked = a == null ? -1 : ActivityTable.linkedItem(a.ordinal());
+			// Nothing cascades into an item without an activity since it can't be used anyway
+			if (linked < 0 || index[linked] < 0 || activities[index[linked]] == null)
+			{
+				continue;
+			}
+
+			parent[i] = index[linked];
+			output[i] = ActivityTable.outputQty(a.ordinal());
+			children[parent[i]]++;
+		}
+
+		// Kahn's algorithm, an item is ready once every item outputting it has been ordered
+		final int[] queue = new int[n];
+		int head = 0;
+		int tail = 0;
+		for (int i = 0; i < n; i++)
+		{
+			if (children[i] == 0)
+			{
+				queue[tail++] = i;
+			}
+		}
+
+		while (head < tail)
+		{
+			final int p = parent[queue[head++]];
+			if (p >= 0 && --children[p] == 0)
+			{
+				queue[tail++] = p;
+			}
+		}
+
+		if (tail < n)
+		{
+			final List<ExperienceItem> cycle = new ArrayList<>();
+			for (int i = 0; i < n; i++)
+			{
+				if (children[i] > 0)
+				{
+					cycle.add(nodes[i]);
+				}
+			}
+			log.warn("Selected activities output each other in a cycle, these items will not cascade: {}", cycle);
+		}
+
+		final int[] position = new int[n];
+		Arrays.fill(position, -1);
+		final ExperienceItem[] order = new ExperienceItem[tail];
+		for (int i = 0; i < tail; i++)
+		{
+			position[queue[i]] = i;
+			order[i] = nodes[queue[i]];
+		}
+
+		final int[] target = new int[tail];
+		final double[] outputQty = new double[tail];
+		for (int i = 0; i < tail; i++)
+		{
+			final int p = parent[queue[i]];
+			target[i] = p < 0 ? -1 : position[p];
+			outputQty[i] = output[queue[i]];
+		}
+
+		return new CascadeGraph(nodes, order, target, outputQty);
+	}
+
+	/**
+	 * Calculates the cascaded quantity of every item in one pass
+	 *
+	 * @param qty      the quantity of every item indexed by ordinal
+	 * @param ignored  whether the item with this ordinal must not cascade
+	 * @param cascaded receives the cascaded quantity of every item of this graph indexed by ordinal
+	 */
+	public void compute(final int[] qty, final IntPredicate ignored, final double[] cascaded)
+	{
+		for (final ExperienceItem item : items)
+		{
+			cascaded[item.ordinal()] = 0;
+		}
+
+		// Every item is complete before the item it outputs is reached
+		for (int i = 0; i < order.length; i++)
+		{
+			final int ordinal = order[i].ordinal();
+			if (target[i] < 0 || ignored.test(ordinal))
+			{
+				continue;
+			}
+
+			cascaded[order[target[i]].ordinal()] += outputQty[i] * (qty[ordinal] + cascaded[ordinal]);
+		}
+	}
+
+	/**
+	 * @return every item that isn't ignored and cascades into this item, directly or through other items
+	 */
+	public List<ExperienceItem> getSources(final ExperienceItem item, final IntPredicate ignored)
+	{
+		final List<ExperienceItem> sources = new ArrayList<>();
+		int position = -1;
+		for (int i = 0; i < order.length; i++)
+		{
+			if (order[i] == item)
+			{
+				position = i;
+				break;
+			}
+		}
+
+		if (position < 0)
+		{
+			return sources;
+		}
+
+		final int[] stack = new int[order.length];
+		int size = 0;
+		stack[size++] = position;
+		while (size > 0)
+		{
+			final int p = stack[--size];
+			for (int c = childStarts[p]; c < childStarts[p + 1]; c++)
+			{
+				final int child = childIndexes[c];
+				if (ignored.test(order[child].ordinal()))
+				{
+					continue;
+				}
+
+				sources.add(order[child]);
+				stack[size++] = child;
+			}
+		}
+
+		return sources;
+	}
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2026, TheStonedTurtle <https://github.com/TheStonedTurtle>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package thestonedturtle.bankedexperience.engine;
+
+import lombok.Value;
+import net.runelite.api.Experience;
+import net.runelite.api.Skill;
+
+/**
+ * What banking every item of a skill would achieve, shown for every skill at once
+ */
+@Value
+public class SkillSummary
+{
+	Skill skill;
+	long bankedXp;
+	// quantity of the items that aren't ignored
+	int items;
+	int projectedXp;
+	int projectedLevel;
+	// experience still needed for the level after the projected level
+	int xpToNextLevel;
+	// number of secondaries without enough banked
+	int missingSecondaries;
+	// sum of the quantities missing for every secondary
+	long secondaryShortfall;
+
+	static SkillSummary of(final BankedXpResult result, final int experience)
+	{
+		final int projectedXp = (int) Math.min(Experience.MAX_SKILL_XP, experience + (long) result.getTotalXp());
+		final int projectedLevel = Experience.getLevelForXp(projectedXp);
+		final int nextLevel = Math.min(projectedLevel + 1, Experience.MAX_VIRT_LEVEL);
+
+		int missing = 0;
+		long shortfall = 0;
+		for (final int itemId : result.getSecondaries().getContributions().keySet())
+		{
+			final double required = result.getSecondaries().getRequired(itemId);
+			final int available = result.getSecondaries().getAvailable(itemId);
+			if (required > available)
+			{
+				missing++;
+				shortfall += (long) Math.ceil(required - available);
+			}
+		}
+
+		return new SkillSummary(result.getSkill(), (long) result.getTotalXp(), result.getTotalItems(), projectedXp,
+			projectedLevel, Math.max(0, Experience.getXpForLevel(nextLevel) - projectedXp), missing, shortfall);
+	}
+}
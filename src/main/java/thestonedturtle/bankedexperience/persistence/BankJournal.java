@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2026, TheStonedTurtle <https://github.com/TheStonedTurtle>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package thestonedturtle.bankedexperience.persistence;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import thestonedturtle.bankedexperience.util.IntIntMap;
+
+/**
+ * Append-only log of the changes made to the sources since the snapshot with the same generation was written.
+ * <p>
+ * The journal starts with a magic number, a version and the generation of the snapshot it applies to, followed by
+ * {@link JournalFrame frames}. A journal whose generation doesn't match the snapshot was already folded into it.
+ * The journal is read into memory instead of being mapped so it can be truncated while the client is running.
+ */
+class BankJournal implements Closeable
+{
+	private static final int MAGIC = 0x4258504A; // BXPJ
+	private static final int VERSION = 1;
+	private static final int HEADER_SIZE = 13;
+
+	private final FileChannel channel;
+
+	BankJournal(final Path path) throws IOException
+	{
+		channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+	}
+
+	/**
+	 * Applies every valid frame of this journal to the sources. Anything after the last valid frame is cut off so
+	 * new frames are appended right after it. A journal of another generation is started anew.
+	 *
+	 * @param generation the generation of the snapshot the sources were read from
+	 * @param sources    the item quantities of every source keyed by source id
+	 * @return the amount of records applied
+	 */
+	int replay(final long generation, final Map<Integer, IntIntMap> sources) throws IOException
+	{
+		final long size = channel.size();
+		if (size < HEADER_SIZE || size > Integer.MAX_VALUE)
+		{
+			reset(generation);
+			return 0;
+		}
+
+		final ByteBuffer in = ByteBuffer.allocate((int) size);
+		channel.position(0);
+		while (in.hasRemaining())
+		{
+			if (channel.read(in) == -1)
+			{
+				break;
+			}
+		}
+		in.flip();
+
+		if (in.getInt() != MAGIC || in.get() != VERSION || in.getLong() != generation)
+		{
+			reset(generation);
+			return 0;
+		}
+
+		int records = 0;
+		int applied;
+		while ((applied = JournalFrame.applyNext(in, sources)) != -1)
+		{
+			records += applied;
+		}
+
+		channel.truncate(in.position());
+		channel.position(in.position());
+		return records;
+	}
+
+	void append(final JournalFrame frame) throws IOException
+	{
+		final ByteBuffer buffer = ByteBuffer.wrap(frame.toBytes());
+		while (buffer.hasRemaining())
+		{
+			channel.write(buffer);
+		}
+	}
+
+	/**
+	 * Removes every frame and marks the journal as belonging to the snapshot with this generation
+	 */
+	void reset(final long generation) throws IOException
+	{
+		final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+		header.putInt(MAGIC);
+		header.put((byte) VERSION);
+		header.putLong(generation);
+		header.flip();
+
+		channel.truncate(0);
+		channel.position(0);
+		while (header.hasRemaining())
+		{
+			channel.write(header);
+		}
+	}
+
+	@Override
+	public void close() throws IOException
+	{
+		channel.close();
+	}
+}
@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) 2026, TheStonedTurtle <https://github.com/TheStonedTurtle>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package thestonedturtle.bankedexperience.persistence;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+import javax.annotation.Nullable;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import thestonedturtle.bankedexperience.util.IntIntMap;
+
+/**
+ * Stores the item quantities of every source on disk, one snapshot file per account.
+ * <p>
+ * A snapshot starts with a magic number, a version and the generation of the snapshot, followed by the sources sorted
+ * by id. Every source holds its
+ * items sorted by item id, each id is stored as a varint of the difference to the previous id. The file ends with the
+ * CRC32 of everything before it. Snapshots are written to a temporary file that is then moved over the old snapshot
+ * so a crash can never leave a half written snapshot behind.
+ */
+@Slf4j
+class BankSnapshots
+{
+	private static final int MAGIC = 0x42585053; // BXPS
+	private static final int VERSION = 2;
+	private static final String EXTENSION = ".snapshot";
+
+	private final Path directory;
+
+	public BankSnapshots(final Path directory)
+	{
+		this.directory = directory;
+	}
+
+	@Value
+	public static class Snapshot
+	{
+		/**
+		 * Increased every time the snapshot is replaced, used to tell which journal belongs to this snapshot
+		 */
+		long generation;
+		// item quantities of every source keyed by source id
+		Map<Integer, IntIntMap> sources;
+	}
+
+	public Path getPath(final long accountHash)
+	{
+		return directory.resolve(accountHash + EXTENSION);
+	}
+
+	/**
+	 * @return the snapshot of this account, or null if there is no valid snapshot
+	 */
+	@Nullable
+	public Snapshot read(final long accountHash)
+	{
+		final Path path = getPath(accountHash);
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+		{
+			final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			return decode(buffer);
+		}
+		catch (NoSuchFileException e)
+		{
+			return null;
+		}
+		catch (IOException | RuntimeException e)
+		{
+			log.warn("Unable to read bank snapshot {}", path, e);
+			return null;
+		}
+	}
+
+	/**
+	 * Replaces the snapshot of this account
+	 *
+	 * @return whether the snapshot was written
+	 */
+	public boolean write(final long accountHash, final Snapshot snapshot)
+	{
+		final Path path = getPath(accountHash);
+		final Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+		try
+		{
+			Files.createDirectories(directory);
+			Files.write(temp, encode(snapshot));
+			try
+			{
+				Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			}
+			catch (AtomicMoveNotSupportedException e)
+			{
+				Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+			}
+			return true;
+		}
+		catch (IOException e)
+		{
+			log.warn("Unable to write bank snapshot {}", path, e);
+			return false;
+		}
+	}
+
+	static byte[] encode(final Snapshot snapshot)
+	{
+		final Map<Integer, IntIntMap> sources = snapshot.getSources();
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		writeInt(out, MAGIC);
+		out.write(VERSION);
+		writeInt(out, (int) (snapshot.getGeneration() >>> 32));
+		writeInt(out, (int) snapshot.getGeneration());
+
+		final int[] sourceIds = sources.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+		Varints.write(out, sourceIds.length);
+		for (final int sourceId : sourceIds)
+		{
+			final IntIntMap items = sources.get(sourceId);
+			// Item ids are never negative so packing them into the high bits sorts the entries by item id
+			final long[] entries = new long[items.size()];
+			final int[] index = {0};
+			items.forEach((id, qty) -> entries[index[0]++] = ((long) id << 32) | (qty & 0xFFFFFFFFL));
+			Arrays.sort(entries);
+
+			Varints.write(out, Varints.zigZag(sourceId));
+			Varints.write(out, entries.length);
+			int lastId = 0;
+			for (final long entry : entries)
+			{
+				final int id = (int) (entry >>> 32);
+				Varints.write(out, id - lastId);
+				Varints.write(out, Varints.zigZag((int) entry));
+				lastId = id;
+			}
+		}
+
+		final CRC32 crc = new CRC32();
+		crc.update(out.toByteArray());
+		writeInt(out, (int) crc.getValue());
+		return out.toByteArray();
+	}
+
+	static Snapshot decode(final ByteBuffer buffer) throws IOException
+	{
+		if (buffer.remaining() < 17)
+		{
+			throw new IOException("Snapshot is truncated");
+		}
+
+		final int crcPosition = buffer.limit() - 4;
+		final ByteBuffer content = buffer.duplicate();
+		content.limit(crcPosition);
+		final CRC32 crc = new CRC32();
+		crc.update(content);
+		if ((int) crc.getValue() != buffer.getInt(crcPosition))
+		{
+			throw new IOException("Snapshot checksum mismatch");
+		}
+
+		final ByteBuffer in = buffer.duplicate();
+		in.limit(crcPosition);
+		if (in.getInt() != MAGIC)
+		{
+			throw new IOException("Not a bank snapshot");
+		}
+
+		final int version = in.get();
+		if (version != VERSION)
+		{
+			throw new IOException("Unsupported snapshot version " + version);
+		}
+
+		final long generation = in.getLong();
+		final int sourceCount = Varints.read(in);
+		final Map<Integer, IntIntMap> sources = new HashMap<>(sourceCount * 2);
+		for (int s = 0; s < sourceCount; s++)
+		{
+			final int sourceId = Varints.unZigZag(Varints.read(in));
+			final int entries = Varints.read(in);
+			final IntIntMap items = new IntIntMap(entries);
+			int id = 0;
+			for (int i = 0; i < entries; i++)
+			{
+				id += Varints.read(in);
+				items.put(id, Varints.unZigZag(Varints.read(in)));
+			}
+			sources.put(sourceId, items);
+		}
+
+		return new Snapshot(generation, sources);
+	}
+
+	private static void writeInt(final ByteArrayOutputStream out, final int value)
+	{
+		out.write(value >>> 24);
+		out.write(value >>> 16);
+		out.write(value >>> 8);
+		out.write(value);
+	}
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2026, TheStonedTurtle <https://github.com/TheStonedTurtle>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package thestonedturtle.bankedexperience.persistence;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import javax.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+import thestonedturtle.bankedexperience.util.IntIntMap;
+
+/**
+ * Keeps the item quantities of every source of one account on disk. Changes are appended to a {@link BankJournal}
+ * and folded into a new snapshot once enough of them have been written, loading replays the snapshot followed by the
+ * journal. A copy of the sources is kept in memory so compaction never has to wait for the calculator.
+ * <p>
+ * Must only be used from a single thread.
+ */
+@Slf4j
+public class BankStore
+{
+	private static final String JOURNAL_EXTENSION = ".journal";
+
+	private final Path directory;
+	private final BankSnapshots snapshots;
+	private final int compactEntries;
+
+	private long accountHash = -1;
+	private long generation;
+	private int journalEntries;
+	@Nullable
+	private BankJournal journal;
+	private final Map<Integer, IntIntMap> sources = new HashMap<>();
+
+	/**
+	 * @param compactEntries the amount of journal records that causes the journal to be folded into the snapshot
+	 */
+	public BankStore(final Path directory, final int compactEntries)
+	{
+		this.directory = directory;
+		this.snapshots = new BankSnapshots(directory);
+		this.compactEntries = compactEntries;
+	}
+
+	/**
+	 * Closes the previous account and loads the sources of this account
+	 *
+	 * @return a copy of the item quantities of every source keyed by source id, or null if nothing is known
+	 */
+	@Nullable
+	public Map<Integer, IntIntMap> load(final long accountHash)
+	{
+		close();
+		if (accountHash == -1)
+		{
+			return null;
+		}
+
+		final long start = System.nanoTime();
+		this.accountHash = accountHash;
+		final BankSnapshots.Snapshot snapshot = snapshots.read(accountHash);
+		if (snapshot != null)
+		{
+			generation = snapshot.getGeneration();
+			sources.putAll(snapshot.getSources());
+		}
+
+		try
+		{
+			Files.createDirectories(directory);
+			journal = new BankJournal(directory.resolve(accountHash + JOURNAL_EXTENSION));
+			journalEntries = journal.replay(generation, sources);
+		}
+		catch (IOException e)
+		{
+			log.warn("Unable to open the bank journal, changes will not be saved", e);
+			closeJournal();
+		}
+
+		log.debug("Loaded {} sources and replayed {} journal entries in {}ms", sources.size(), journalEntries,
+			(System.nanoTime() - start) / 1_000_000);
+		return sources.isEmpty() ? null : copy(sources);
+	}
+
+	/**
+	 * Saves the changes for this account, ignored if another account is loaded
+	 */
+	public void append(final long accountHash, final JournalFrame frame)
+	{
+		if (accountHash != this.accountHash || frame.isEmpty())
+		{
+			return;
+		}
+
+		if (journal != null)
+		{
+			try
+			{
+				journal.append(frame);
+			}
+			catch (IOException e)
+			{
+				log.warn("Unable to append to the bank journal", e);
+				closeJournal();
+			}
+		}
+
+		frame.apply(sources);
+		journalEntries += frame.size();
+		if (journalEntries >= compactEntries)
+		{
+			compact();
+		}
+	}
+
+	/**
+	 * Writes every source to a new snapshot and empties the journal
+	 */
+	public void compact()
+	{
+		if (accountHash == -1)
+		{
+			return;
+		}
+
+		final BankSnapshots.Snapshot snapshot = new BankSnapshots.Snapshot(generation + 1, sources);
+		if (!snapshots.write(accountHash, snapshot))
+		{
+			// Keep appending to the current journal, the next compaction will try again
+			return;
+		}
+
+		generation++;
+		journalEntries = 0;
+		if (journal != null)
+		{
+			try
+			{
+				journal.reset(generation);
+			}
+			catch (IOException e)
+			{
+				log.warn("Unable to reset the bank journal", e);
+				closeJournal();
+			}
+		}
+	}
+
+	/**
+	 * Folds any outstanding journal entries into the snapshot and forgets the loaded account
+	 */
+	public void close()
+	{
+		if (journalEntries > 0)
+		{
+			compact();
+		}
+
+		closeJournal();
+		accountHash = -1;
+		generation = 0;
+		journalEntries = 0;
+		sources.clear();
+	}
+
+	private void closeJournal()
+	{
+		if (journal == null)
+		{
+			return;
+		}
+
+		try
+		{
+			journal.close();
+		}
+		catch (IOException e)
+		{
+			log.warn("Unable to close the bank journal", e);
+		}
+		journal = null;
+	}
+
+	private static Map<Integer, IntIntMap> copy(final Map<Integer, IntIntMap> sources)
+	{
+		final Map<Integer, IntIntMap> copy = new HashMap<>(sources.size() * 2);
+		for (final Map.Entry<Integer, IntIntMap> entry : sources.entrySet())
+		{
+			final IntIntMap items = new IntIntMap(entry.getValue().size());
+			items.putAll(entry.getValue());
+			copy.put(entry.getKey(), items);
+		}
+		return copy;
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, TheStonedTurtle <https://github.com/TheStonedTurtle>
+ * Copyright (c) 2026, TheStonedTurtle <https://github.com/TheStonedTurtle>
  * All rights reserved.
  *
  * Redistribution and use in source and binary forms, with or without
@@ -22,44 +22,29 @@
  * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
  * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
  */
-package thestonedturtle.bankedexperience.data;
+package thestonedturtle.bankedexperience.persistence;
 
-import javax.annotation.Nullable;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
-@AllArgsConstructor
+/**
+ * The banked experience history of a skill, sorted by time. Each column holds one value per point.
+ */
 @Getter
-public enum WidgetInventoryInfo
+@AllArgsConstructor(access = AccessLevel.PACKAGE)
+public class HistoryPoints
 {
-	FOSSIL_CHEST(605, 11),
-	;
+	static final HistoryPoints EMPTY = new HistoryPoints(new long[0], new long[0], new int[0]);
 
-	private final int groupId;
-	private final int childId;
+	// milliseconds since the epoch, the start of the bucket for merged points
+	private final long[] times;
+	private final long[] xp;
+	// the amount of items the banked experience was calculated from
+	private final int[] items;
 
-	/**
-	 * Gets the ID of the group-child pairing.
-	 *
-	 * @return the ID
-	 */
-	public int getId()
+	public int size()
 	{
-		final int id = groupId << 16 | childId;;
-		return id < 0 ? id : id * -1;
-	}
-
-	@Nullable
-	public static WidgetInventoryInfo getByGroupId(final int id)
-	{
-		for (final WidgetInventoryInfo o : values())
-		{
-			if (o.getGroupId() == id)
-			{
-				return o;
-			}
-		}
-
-		return null;
+		return times.length;
 	}
 }
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2026, TheStonedTurtle <https://github.com/TheStonedTurtle>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package thestonedturtle.bankedexperience.persistence;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The banked experience history of a single skill. New points are kept per minute for a few days before they are
+ * merged into hourly points, which are merged into daily points once they are a couple of months old. Every tier has a
+ * fixed capacity so the history of a skill never grows past a fixed size.
+ */
+class HistorySeries
+{
+	// bucket size and retention of every tier, ordered from newest to oldest points
+	private static final long[] BUCKETS = {HistoryTier.MINUTE, HistoryTier.HOURLY, HistoryTier.DAILY};
+	private static final long[] RETENTION = {
+		TimeUnit.DAYS.toMillis(2),
+		TimeUnit.DAYS.toMillis(60),
+		TimeUnit.DAYS.toMillis(1096),
+	};
+
+	final HistoryTier[] tiers = new HistoryTier[BUCKETS.length];
+
+	HistorySeries()
+	{
+		for (int i = 0; i < tiers.length; i++)
+		{
+			// One more than the buckets inside the retention since the bucket of the newest point is only partly inside
+			tiers[i] = new HistoryTier(BUCKETS[i], (int) (RETENTION[i] / BUCKETS[i]) + 1);
+		}
+	}
+
+	/**
+	 * Adds a point unless it is older than the newest point or doesn't change anything
+	 *
+	 * @return whether the point was added
+	 */
+	boolean add(final long time, final long xp, final int items)
+	{
+		final HistoryTier raw = tiers[0];
+		if (raw.size() > 0)
+		{
+			final int last = raw.size() - 1;
+			if (time < raw.getTime(last) || (xp == raw.getXp(last) && items == raw.getItems(last)))
+			{
+				return false;
+			}
+		}
+
+		insert(0, time, xp, items);
+		return true;
+	}
+
+	private void insert(final int tier, final long time, final long xp, final int items)
+	{
+		final HistoryTier target = tiers[tier];
+		if (target.mergeLast(time, xp, items))
+		{
+			return;
+		}
+
+		// Move expired points into the next tier, the oldest tier forgets them
+		while (target.size() > 0 && (target.isFull() || target.getTime(0) < time - RETENTION[tier]))
+		{
+			final long oldTime = target.getTime(0);
+			final long oldXp = target.getXp(0);
+			final int oldItems = target.getItems(0);
+			target.removeFirst();
+			if (tier + 1 < tiers.length)
+			{
+				insert(tier + 1, oldTime, oldXp, oldItems);
+			}
+		}
+
+		target.append(time, xp, items);
+	}
+
+	/**
+	 * @return the start of the bucket of the newest point, {@link Long#MIN_VALUE} if there are no points
+	 */
+	long lastTime()
+	{
+		for (final HistoryTier tier : tiers)
+		{
+			if (tier.size() > 0)
+			{
+				return tier.getTime(tier.size() - 1);
+			}
+		}
+		return Long.MIN_VALUE;
+	}
+
+	/**
+	 * @return the start of the bucket new points at this time are added to
+	 */
+	long bucketStart(final long time)
+	{
+		return tiers[0].bucketStart(time);
+	}
+
+	/**
+	 * Every tier only holds points older than the points of the tier before it, so the points of each tier between
+	 * both times are found with a binary search and copied from the oldest tier to the newest.
+	 *
+	 * @return every point between from and to, both inclusive, sorted by time
+	 */
+	HistoryPoints query(final long from, final long to)
+	{
+		int count = 0;
+		final int[] starts = new int[tiers.length];
+		final int[] ends = new int[tiers.length];
+		for (int t = 0; t < tiers.length; t++)
+		{
+			starts[t] = tiers[t].search(from);
+			ends[t] = to == Long.MAX_VALUE ? tiers[t].size() : tiers[t].search(to + 1);
+			count += Math.max(0, ends[t] - starts[t]);
+		}
+
+		final long[] times = new long[count];
+		final long[] xp = new long[count];
+		final int[] items = new int[count];
+		int index = 0;
+		for (int t = tiers.length - 1; t >= 0; t--)
+		{
+			final HistoryTier tier = tiers[t];
+			for (int i = starts[t]; i < ends[t]; i++)
+			{
+				times[index] = tier.getTime(i);
+				xp[index] = tier.getXp(i);
+				items[index] = tier.getItems(i);
+				index++;
+			}
+		}
+
+		return new HistoryPoints(times, xp, items);
+	}
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2026, TheStonedTurtle <https://github.com/TheStonedTurtle>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package thestonedturtle.bankedexperience.persistence;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A fixed size ring buffer of history points stored as one array per column. Every tier keeps a single point per
+ * bucket, the latest point merged into a bucket replaces the earlier one.
+ */
+class HistoryTier
+{
+	static final long MINUTE = TimeUnit.MINUTES.toMillis(1);
+	static final long HOURLY = TimeUnit.HOURS.toMillis(1);
+	static final long DAILY = TimeUnit.DAYS.toMillis(1);
+
+	private final long bucketMillis;
+	private final long[] times;
+	private final long[] xp;
+	private final int[] items;
+	private int start;
+	private int size;
+
+	HistoryTier(final long bucketMillis, final int capacity)
+	{
+		this.bucketMillis = bucketMillis;
+		this.times = new long[capacity];
+		this.xp = new long[capacity];
+		this.items = new int[capacity];
+	}
+
+	int size()
+	{
+		return size;
+	}
+
+	int capacity()
+	{
+		return times.length;
+	}
+
+	boolean isFull()
+	{
+		return size == times.length;
+	}
+
+	long getTime(final int index)
+	{
+		return times[physical(index)];
+	}
+
+	long getXp(final int index)
+	{
+		return xp[physical(index)];
+	}
+
+	int getItems(final int index)
+	{
+		return items[physical(index)];
+	}
+
+	long bucketStart(final long time)
+	{
+		return time - Math.floorMod(time, bucketMillis);
+	}
+
+	/**
+	 * @return the index of the first point at or after this time, size if there is none
+	 */
+	int search(final long time)
+	{
+		int low = 0;
+		int high = size;
+		while (low < high)
+		{
+			final int mid = (low + high) >>> 1;
+			if (getTime(mid) < time)
+			{
+				low = mid + 1;
+			}
+			else
+			{
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Replaces the last point if the time falls into its bucket
+	 *
+	 * @return whether the last point was replaced
+	 */
+	boolean mergeLast(final long time, final long xp, final int items)
+	{
+		if (size == 0 || getTime(size - 1) != bucketStart(time))
+		{
+			return false;
+		}
+
+		final int index = physical(size - 1);
+		this.xp[index] = xp;
+		this.items[index] = items;
+		return true;
+	}
+
+	/**
+	 * Adds a point to the end, the caller must make room first
+	 */
+	void append(final long time, final long xp, final int items)
+	{
+		assert !isFull();
+		final int index = physical(size);
+		this.times[index] = bucketStart(time);
+		this.xp[index] = xp;
+		this.items[index] = items;
+		size++;
+	}
+
+	void removeFirst()
+	{
+		start = (start + 1) % times.length;
+		size--;
+	}
+
+	private int physical(final int index)
+	{
+		final int i = start + index;
+		return i < times.length ? i : i - times.length;
+	}
+}
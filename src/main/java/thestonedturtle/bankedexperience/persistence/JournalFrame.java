@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2026, TheStonedTurtle <https://github.com/TheStonedTurtle>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package thestonedturtle.bankedexperience.persistence;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.zip.CRC32;
+import thestonedturtle.bankedexperience.util.IntIntMap;
+
+/**
+ * A group of changes to the item quantities of the sources that are appended to the {@link BankJournal} at once.
+ * <p>
+ * A frame is stored as the varint length of its records, the records and the CRC32 of the records. Every record holds
+ * the zigzag encoded source id and the item id plus one. Item id 0 marks a removed source, every other record is
+ * followed by the zigzag encoded change in quantity. Removed sources are written before any other record.
+ */
+public final class JournalFrame
+{
+	private final ByteArrayOutputStream records = new ByteArrayOutputStream();
+	private int count;
+	private byte[] bytes;
+
+	public void removeSource(final int sourceId)
+	{
+		Varints.write(records, Varints.zigZag(sourceId));
+		Varints.write(records, 0);
+		count++;
+	}
+
+	public void add(final int sourceId, final int itemId, final int qty)
+	{
+		Varints.write(records, Varints.zigZag(sourceId));
+		Varints.write(records, itemId + 1);
+		Varints.write(records, Varints.zigZag(qty));
+		count++;
+	}
+
+	public int size()
+	{
+		return count;
+	}
+
+	public boolean isEmpty()
+	{
+		return count == 0;
+	}
+
+	/**
+	 * Encodes this frame, no records may be added afterwards
+	 */
+	byte[] toBytes()
+	{
+		if (bytes != null)
+		{
+			return bytes;
+		}
+
+		final byte[] payload = records.toByteArray();
+		final ByteArrayOutputStream out = new ByteArrayOutputStream(payload.length + 9);
+		Varints.write(out, payload.length);
+		out.write(payload, 0, payload.length);
+
+		final CRC32 crc = new CRC32();
+		crc.update(payload);
+		final int value = (int) crc.getValue();
+		out.write(value >>> 24);
+		out.write(value >>> 16);
+		out.write(value >>> 8);
+		out.write(value);
+		bytes = out.toByteArray();
+		return bytes;
+	}
+
+	/**
+	 * Applies the records of this frame to the sources
+	 */
+	void apply(final Map<Integer, IntIntMap> sources)
+	{
+		applyNext(ByteBuffer.wrap(toBytes()), sources);
+	}
+
+	/**
+	 * Applies the next frame inside the buffer to the sources. The buffer is left untouched if the frame is incomplete
+	 * or corrupted, which is expected for the last frame if the client stopped while it was being written.
+	 *
+	 * @return the amount of records applied, or -1 if there was no valid frame to apply
+	 */
+	static int applyNext(final ByteBuffer in, final Map<Integer, IntIntMap> sources)
+	{
+		final ByteBuffer frame = in.duplicate();
+		final ByteBuffer payload;
+		try
+		{
+			final int length = Varints.read(frame);
+			if (length < 0 || frame.remaining() < length + 4)
+			{
+				return -1;
+			}
+
+			payload = frame.slice();
+			payload.limit(length);
+			final CRC32 crc = new CRC32();
+			crc.update(payload.duplicate());
+			frame.position(frame.position() + length);
+			if ((int) crc.getValue() != frame.getInt())
+			{
+				return -1;
+			}
+		}
+		catch (IOException e)
+		{
+			return -1;
+		}
+
+		int applied = 0;
+		try
+		{
+			while (payload.hasRemaining())
+			{
+				final int sourceId = Varints.unZigZag(Varints.read(payload));
+				final int itemId = Varints.read(payload) - 1;
+				if (itemId < 0)
+				{
+					sources.remove(sourceId);
+				}
+				else
+				{
+					final int qty = Varints.unZigZag(Varints.read(payload));
+					final IntIntMap items = sources.computeIfAbsent(sourceId, k -> new IntIntMap());
+					items.add(itemId, qty);
+				}
+				applied++;
+			}
+		}
+		catch (IOException e)
+		{
+			// The checksum matched so this can only be caused by a bug while writing the frame
+			throw new IllegalStateException("Malformed journal frame", e);
+		}
+
+		in.position(frame.position());
+		return applied;
+	}
+}
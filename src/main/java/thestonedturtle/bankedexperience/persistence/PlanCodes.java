@@ -0,0 +1,277 @@
+/*
+ * Copyright (c) 2026, TheStonedTurtle <https://github.com/TheStonedTurtle>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package thestonedturtle.bankedexperience.persistence;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.zip.CRC32;
+import javax.annotation.Nullable;
+import lombok.Value;
+import net.runelite.api.Skill;
+import thestonedturtle.bankedexperience.data.Activity;
+import thestonedturtle.bankedexperience.data.ExperienceItem;
+import thestonedturtle.bankedexperience.data.Profile;
+import thestonedturtle.bankedexperience.util.IntIntMap;
+
+/**
+ * Converts a {@link Profile}, and optionally the banked item quantities, into a short code that can be shared.
+ * <p>
+ * A code is the base64url encoding of a version byte, a checksum of the activities, experience items and skills the
+ * code was made with, a flags byte and the contents of the profile. Unlike saved profiles, activities and items are
+ * stored by ordinal to keep codes short, so a code is only accepted by plugin versions whose entries have the same
+ * names in the same order.
+ * Selected activities and item ids are sorted and stored as varints of the difference to the previous value and
+ * ignored items are stored as a bitset.
+ */
+public final class PlanCodes
+{
+	private static final int VERSION = 1;
+	private static final int FLAG_QUANTITIES = 1;
+
+	private static final Activity[] ACTIVITIES = Activity.values();
+	private static final Skill[] SKILLS = Skill.values();
+	private static final int LAYOUT_CHECKSUM = layoutChecksum();
+
+	private PlanCodes()
+	{
+	}
+
+	@Value
+	public static class Plan
+	{
+		Profile profile;
+		// item quantities keyed by item id, null if the code didn't include them
+		@Nullable
+		IntIntMap quantities;
+	}
+
+	/**
+	 * @param quantities the banked item quantities to include, or null to only include the choices of the profile
+	 */
+	public static String encode(final Profile profile, @Nullable final IntIntMap quantities)
+	{
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		out.write(VERSION);
+		for (int shift = 24; shift >= 0; shift -= 8)
+		{
+			out.write(LAYOUT_CHECKSUM >>> shift);
+		}
+		out.write(quantities == null ? 0 : FLAG_QUANTITIES);
+
+		Varints.write(out, profile.getBoost());
+		Varints.write(out, profile.getXpMultiplier());
+
+		final Activity[] choices = profile.getChoices();
+		final int[] activities = new int[choices.length];
+		int count = 0;
+		for (final Activity activity : choices)
+		{
+			if (activity != null)
+			{
+				activities[count++] = activity.ordinal();
+			}
+		}
+		Arrays.sort(activities, 0, count);
+		writeSorted(out, activities, count);
+
+		final byte[] ignored = profile.getIgnoredItems().toByteArray();
+		Varints.write(out, ignored.length);
+		out.write(ignored, 0, ignored.length);
+
+		Varints.write(out, profile.getEnabledModifiers().size());
+		for (final String key : profile.getEnabledModifiers())
+		{
+			final int separator = key.indexOf(':');
+			final byte[] name = key.substring(separator + 1).getBytes(StandardCharsets.UTF_8);
+			Varints.write(out, skillOrdinal(key.substring(0, separator)));
+			Varints.write(out, name.length);
+			out.write(name, 0, name.length);
+		}
+
+		if (quantities != null)
+		{
+			final int[] ids = new int[quantities.size()];
+			final int[] index = {0};
+			quantities.forEach((id, qty) -> ids[index[0]++] = id);
+			Arrays.sort(ids);
+			writeSorted(out, ids, ids.length);
+			for (final int id : ids)
+			{
+				Varints.write(out, Varints.zigZag(quantities.get(id)));
+			}
+		}
+
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(out.toByteArray());
+	}
+
+	/**
+	 * @param name the name of the created profile
+	 * @throws IOException if the code is invalid or was made by an incompatible plugin version
+	 */
+	public static Plan decode(final String code, final String name) throws IOException
+	{
+		final ByteBuffer in;
+		try
+		{
+			in = ByteBuffer.wrap(Base64.getUrlDecoder().decode(code.trim()));
+		}
+		catch (IllegalArgumentException e)
+		{
+			throw new IOException("Not a plan code", e);
+		}
+
+		try
+		{
+			final int version = in.get();
+			if (version != VERSION)
+			{
+				throw new IOException("Unsupported plan code version " + version);
+			}
+
+			final Profile profile = new Profile(name);
+			if (in.getInt() != LAYOUT_CHECKSUM)
+			{
+				throw new IOException("Plan code was made with a different version of the plugin");
+			}
+
+			final int flags = in.get();
+			profile.setBoost(Varints.read(in));
+			profile.setXpMultiplier(Math.max(1, Varints.read(in)));
+
+			final int selections = Varints.read(in);
+			int ordinal = 0;
+			for (int i = 0; i < selections; i++)
+			{
+				ordinal += Varints.read(in);
+				profile.choose(ACTIVITIES[ordinal]);
+			}
+
+			final BitSet ignored = BitSet.valueOf(readBytes(in));
+			profile.getIgnoredItems().or(ignored.get(0, profile.getSelections().length));
+
+			final int modifiers = Varints.read(in);
+			for (int i = 0; i < modifiers; i++)
+			{
+				final Skill skill = SKILLS[Varints.read(in)];
+				final byte[] modifierName = readBytes(in);
+				profile.getEnabledModifiers().add(Profile.modifierKey(skill, new String(modifierName, StandardCharsets.UTF_8)));
+			}
+
+			IntIntMap quantities = null;
+			if ((flags & FLAG_QUANTITIES) != 0)
+			{
+				final int count = Varints.read(in);
+				// Every entry takes at least two bytes
+				if (count > in.remaining() / 2)
+				{
+					throw new IOException("Plan code is truncated");
+				}
+
+				final int[] ids = new int[count];
+				int id = 0;
+				for (int i = 0; i < count; i++)
+				{
+					id += Varints.read(in);
+					ids[i] = id;
+				}
+
+				quantities = new IntIntMap(count);
+				for (final int itemId : ids)
+				{
+					quantities.put(itemId, Varints.unZigZag(Varints.read(in)));
+				}
+			}
+
+			return new Plan(profile, quantities);
+		}
+		catch (BufferUnderflowException | ArrayIndexOutOfBoundsException e)
+		{
+			throw new IOException("Plan code is truncated or corrupt", e);
+		}
+	}
+
+	private static byte[] readBytes(final ByteBuffer in) throws IOException
+	{
+		final int length = Varints.read(in);
+		if (length < 0 || length > in.remaining())
+		{
+			throw new IOException("Plan code is truncated");
+		}
+
+		final byte[] bytes = new byte[length];
+		in.get(bytes);
+		return bytes;
+	}
+
+	private static void writeSorted(final ByteArrayOutputStream out, final int[] values, final int count)
+	{
+		Varints.write(out, count);
+		int last = 0;
+		for (int i = 0; i < count; i++)
+		{
+			Varints.write(out, values[i] - last);
+			last = values[i];
+		}
+	}
+
+	/**
+	 * A reordered or renamed entry changes which entry an ordinal points to even when the number of entries stays
+	 * the same, so the names of every entry are included in their order.
+	 */
+	private static int layoutChecksum()
+	{
+		final CRC32 crc = new CRC32();
+		for (final Enum<?>[] entries : new Enum<?>[][]{ACTIVITIES, ExperienceItem.values(), SKILLS})
+		{
+			for (final Enum<?> entry : entries)
+			{
+				crc.update(entry.name().getBytes(StandardCharsets.UTF_8));
+				// Separates the names so moving a character between two of them changes the checksum
+				crc.update(0);
+			}
+			crc.update(1);
+		}
+		return (int) crc.getValue();
+	}
+
+	private static int skillOrdinal(final String skillName)
+	{
+		for (final Skill skill : SKILLS)
+		{
+			if (skill.getName().equals(skillName))
+			{
+				return skill.ordinal();
+			}
+		}
+
+		throw new IllegalArgumentException("Unknown skill " + skillName);
+	}
+}
@@ -0,0 +1,393 @@
+/*
+ * Copyright (c) 2026, TheStonedTurtle <https://github.com/TheStonedTurtle>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package thestonedturtle.bankedexperience.persistence;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
+import javax.swing.Timer;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.client.config.ConfigManager;
+import net.runelite.client.util.Text;
+import thestonedturtle.bankedexperience.BankedExperiencePlugin;
+import thestonedturtle.bankedexperience.data.Activity;
+import thestonedturtle.bankedexperience.data.ExperienceItem;
+import thestonedturtle.bankedexperience.data.Profile;
+
+/**
+ * Saves every {@link Profile} inside a single config value.
+ * <p>
+ * The value is the base64 encoding of a version byte followed by the profiles. Activities and items are stored by
+ * their name instead of their ordinal so profiles survive entries being added or reordered, the item of a selection
+ * is the item of its activity. Changes are written behind a short delay so a burst of changes only writes
+ * to the config once. Must be used on the EDT.
+ */
+@Slf4j
+public class ProfileStore
+{
+	private static final String PROFILES_KEY = "profiles";
+	private static final String ACTIVE_PROFILE_KEY = "activeProfile";
+	// Selections and ignored items used to be saved outside of profiles
+	private static final String LEGACY_ITEM_KEY_PREFIX = "ITEM_";
+	private static final String LEGACY_IGNORED_KEY = "ignoredItems";
+	private static final int VERSION = 2;
+	private static final int WRITE_DELAY_MS = 1000;
+
+	private static final Map<String, Activity> ACTIVITY_BY_NAME = new HashMap<>();
+	private static final Map<String, ExperienceItem> ITEM_BY_NAME = new HashMap<>();
+	private static final ExperienceItem[] ITEMS = ExperienceItem.values();
+
+	static
+	{
+		for (final Activity activity : Activity.values())
+		{
+			ACTIVITY_BY_NAME.put(activity.name(), activity);
+		}
+
+		for (final ExperienceItem item : ITEMS)
+		{
+			ITEM_BY_NAME.put(item.name(), item);
+		}
+	}
+
+	private final ConfigManager configManager;
+	private final List<Profile> profiles = new ArrayList<>();
+	@Getter
+	private Profile active = new Profile(Profile.DEFAULT_NAME);
+	private final Timer writeTimer;
+
+	public ProfileStore(final ConfigManager configManager)
+	{
+		this.configManager = configManager;
+		this.writeTimer = new Timer(WRITE_DELAY_MS, e -> write());
+		this.writeTimer.setRepeats(false);
+		this.profiles.add(active);
+		ExperienceItem.useSelections(active.getSelections());
+	}
+
+	public List<Profile> getProfiles()
+	{
+		return Collections.unmodifiableList(profiles);
+	}
+
+	/**
+	 * Reads every saved profile, choices saved before profiles existed are moved into the default profile
+	 */
+	public void load()
+	{
+		profiles.clear();
+		final String value = configManager.getConfiguration(BankedExperiencePlugin.CONFIG_GROUP, PROFILES_KEY);
+		if (value != null)
+		{
+			try
+			{
+				decode(value, profiles);
+			}
+			catch (IOException | IllegalArgumentException e)
+			{
+				log.warn("Unable to read the saved profiles", e);
+				profiles.clear();
+			}
+		}
+
+		if (profiles.isEmpty())
+		{
+			migrateLegacyKeys();
+		}
+
+		final String activeName = configManager.getConfiguration(BankedExperiencePlugin.CONFIG_GROUP, ACTIVE_PROFILE_KEY);
+		final Profile profile = getByName(activeName);
+		active = profile == null ? profiles.get(0) : profile;
+		ExperienceItem.useSelections(active.getSelections());
+	}
+
+	@Nullable
+	public Profile getByName(final String name)
+	{
+		for (final Profile profile : profiles)
+		{
+			if (profile.getName().equals(name))
+			{
+				return profile;
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Uses this profile for every selection, the caller is responsible for recalculating
+	 */
+	public void setActive(final Profile profile)
+	{
+		active = profile;
+		ExperienceItem.useSelections(profile.getSelections());
+		configManager.setConfiguration(BankedExperiencePlugin.CONFIG_GROUP, ACTIVE_PROFILE_KEY, profile.getName());
+	}
+
+	/**
+	 * Creates a new profile starting with the choices of the active profile
+	 *
+	 * @return the new profile, or null if the name is already in use
+	 */
+	@Nullable
+	public Profile create(final String name)
+	{
+		if (getByName(name) != null)
+		{
+			return null;
+		}
+
+		final Profile profile = active.copy(name);
+		add(profile);
+		return profile;
+	}
+
+	/**
+	 * Adds a profile created elsewhere, such as an imported plan
+	 *
+	 * @return false if the name of the profile is already in use
+	 */
+	public boolean add(final Profile profile)
+	{
+		if (getByName(profile.getName()) != null)
+		{
+			return false;
+		}
+
+		profiles.add(profile);
+		save();
+		return true;
+	}
+
+	/**
+	 * Deletes a profile other than the last one, the first remaining profile becomes active if it was active
+	 */
+	public void delete(final Profile profile)
+	{
+		if (profiles.size() <= 1 || !profiles.remove(profile))
+		{
+			return;
+		}
+
+		if (profile == active)
+		{
+			setActive(profiles.get(0));
+		}
+		save();
+	}
+
+	/**
+	 * Schedules the profiles to be written
+	 */
+	public void save()
+	{
+		writeTimer.restart();
+	}
+
+	/**
+	 * Writes any pending changes immediately
+	 */
+	public void flush()
+	{
+		if (writeTimer.isRunning())
+		{
+			writeTimer.stop();
+			write();
+		}
+	}
+
+	/**
+	 * @return whether the profiles have been written
+	 */
+	private boolean write()
+	{
+		try
+		{
+			configManager.setConfiguration(BankedExperiencePlugin.CONFIG_GROUP, PROFILES_KEY, encode(profiles));
+			return true;
+		}
+		catch (IOException e)
+		{
+			log.warn("Unable to save the profiles", e);
+			return false;
+		}
+	}
+
+	/**
+	 * Moves the choices saved before profiles existed into a new default profile
+	 */
+	private void migrateLegacyKeys()
+	{
+		final Profile profile = new Profile(Profile.DEFAULT_NAME);
+		final List<String> legacyKeys = new ArrayList<>();
+		for (final ExperienceItem item : ExperienceItem.values())
+		{
+			final String key = LEGACY_ITEM_KEY_PREFIX + item.name();
+			final String activityName = configManager.getConfiguration(BankedExperiencePlugin.CONFIG_GROUP, key);
+			if (activityName == null)
+			{
+				continue;
+			}
+
+			legacyKeys.add(key);
+			select(profile, ACTIVITY_BY_NAME.get(activityName));
+		}
+
+		final String ignored = configManager.getConfiguration(BankedExperiencePlugin.CONFIG_GROUP, LEGACY_IGNORED_KEY);
+		if (ignored != null)
+		{
+			legacyKeys.add(LEGACY_IGNORED_KEY);
+			for (final String name : Text.fromCSV(ignored))
+			{
+				final ExperienceItem item = ITEM_BY_NAME.get(name);
+				if (item != null)
+				{
+					profile.getIgnoredItems().set(item.ordinal());
+				}
+			}
+		}
+
+		profiles.add(profile);
+		// The legacy keys are only removed once the profile holding their choices has been written, a failed write
+		// migrates them again on the next load
+		if (write())
+		{
+			for (final String key : legacyKeys)
+			{
+				configManager.unsetConfiguration(BankedExperiencePlugin.CONFIG_GROUP, key);
+			}
+		}
+	}
+
+	private static void select(final Profile profile, @Nullable final Activity activity)
+	{
+		// The activity has been removed since it was saved
+		if (activity == null)
+		{
+			return;
+		}
+
+		profile.choose(activity);
+	}
+
+	static String encode(final List<Profile> profiles) throws IOException
+	{
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		final DataOutputStream out = new DataOutputStream(bytes);
+		out.writeByte(VERSION);
+		out.writeShort(profiles.size());
+		for (final Profile profile : profiles)
+		{
+			out.writeUTF(profile.getName());
+			out.writeInt(profile.getBoost());
+			out.writeInt(profile.getXpMultiplier());
+
+			// Fallbacks shown because of the level limit are never saved over the picked activity
+			final List<Activity> chosen = new ArrayList<>();
+			for (final Activity activity : profile.getChoices())
+			{
+				if (activity != null)
+				{
+					chosen.add(activity);
+				}
+			}
+			out.writeShort(chosen.size());
+			for (final Activity activity : chosen)
+			{
+				out.writeUTF(activity.name());
+			}
+
+			final BitSet ignored = profile.getIgnoredItems();
+			out.writeShort(ignored.cardinality());
+			for (int i = ignored.nextSetBit(0); i >= 0; i = ignored.nextSetBit(i + 1))
+			{
+				out.writeUTF(ITEMS[i].name());
+			}
+
+			out.writeShort(profile.getEnabledModifiers().size());
+			for (final String modifier : profile.getEnabledModifiers())
+			{
+				out.writeUTF(modifier);
+			}
+		}
+
+		out.flush();
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+	}
+
+	static void decode(final String value, final List<Profile> profiles) throws IOException
+	{
+		final DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(value)));
+		final int version = in.readUnsignedByte();
+		if (version != VERSION)
+		{
+			throw new IOException("Unsupported profiles version " + version);
+		}
+
+		final int count = in.readUnsignedShort();
+		for (int p = 0; p < count; p++)
+		{
+			final Profile profile = new Profile(in.readUTF());
+			profile.setBoost(in.readInt());
+			profile.setXpMultiplier(in.readInt());
+
+			final int selections = in.readUnsignedShort();
+			for (int i = 0; i < selections; i++)
+			{
+				select(profile, ACTIVITY_BY_NAME.get(in.readUTF()));
+			}
+
+			final int ignored = in.readUnsignedShort();
+			for (int i = 0; i < ignored; i++)
+			{
+				final ExperienceItem item = ITEM_BY_NAME.get(in.readUTF());
+				if (item != null)
+				{
+					profile.getIgnoredItems().set(item.ordinal());
+				}
+			}
+
+			final int modifiers = in.readUnsignedShort();
+			for (int i = 0; i < modifiers; i++)
+			{
+				profile.getEnabledModifiers().add(in.readUTF());
+			}
+
+			profiles.add(profile);
+		}
+	}
+}
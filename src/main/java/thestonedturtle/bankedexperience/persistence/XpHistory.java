@@ -0,0 +1,446 @@
+/*
+ * Copyright (c) 2026, TheStonedTurtle <https://github.com/TheStonedTurtle>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package thestonedturtle.bankedexperience.persistence;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+import javax.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Skill;
+
+/**
+ * Keeps the banked experience history of every skill of one account on disk.
+ * <p>
+ * New points are kept per minute. The first point of every minute is appended to a journal of fixed size records,
+ * later points of the same minute only replace it in memory and are saved by the next rewrite of the whole history,
+ * which happens once enough points have been appended or the history is closed. The history file stores every tier of
+ * every skill column by column: the times, then the experience, then the item counts. Each column is stored as varints
+ * of the difference to the previous value, followed by the CRC32 of the file. As every tier has a fixed capacity the
+ * file never grows past a fixed size.
+ * <p>
+ * Must only be used from a single thread.
+ */
+@Slf4j
+public class XpHistory
+{
+	private static final int MAGIC = 0x42585048; // BXPH
+	private static final int VERSION = 1;
+	private static final String EXTENSION = ".history";
+	private static final String JOURNAL_EXTENSION = ".history-journal";
+	// skill ordinal, time, experience and item count
+	private static final int RECORD_SIZE = 1 + 8 + 8 + 4;
+	private static final Skill[] SKILLS = Skill.values();
+
+	private final Path directory;
+	private final int compactEntries;
+
+	private long accountHash = -1;
+	private final Map<Skill, HistorySeries> series = new EnumMap<>(Skill.class);
+	@Nullable
+	private FileChannel journal;
+	private int journalEntries;
+	// Set when points were added since the history file was last written
+	private boolean dirty;
+	private boolean closed;
+	private final ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+
+	/**
+	 * @param compactEntries the amount of journal records that causes the history file to be rewritten
+	 */
+	public XpHistory(final Path directory, final int compactEntries)
+	{
+		this.directory = directory;
+		this.compactEntries = compactEntries;
+	}
+
+	/**
+	 * Adds a point to the history of this skill, nothing is written if the banked experience didn't change or the
+	 * history was closed
+	 */
+	public void record(final long accountHash, final Skill skill, final long time, final long xp, final int items)
+	{
+		if (closed || accountHash == -1)
+		{
+			return;
+		}
+
+		load(accountHash);
+		final HistorySeries skillSeries = series.computeIfAbsent(skill, k -> new HistorySeries());
+		final long lastTime = skillSeries.lastTime();
+		if (!skillSeries.add(time, xp, items))
+		{
+			return;
+		}
+
+		dirty = true;
+		// The point replaced the one already journaled for this minute
+		if (skillSeries.lastTime() == lastTime)
+		{
+			return;
+		}
+
+		if (journal != null)
+		{
+			record.clear();
+			record.put((byte) skill.ordinal()).putLong(time).putLong(xp).putInt(items);
+			record.flip();
+			try
+			{
+				while (record.hasRemaining())
+				{
+					journal.write(record);
+				}
+			}
+			catch (IOException e)
+			{
+				log.warn("Unable to append to the history journal", e);
+				closeJournal();
+			}
+		}
+
+		if (++journalEntries >= compactEntries)
+		{
+			compact();
+		}
+	}
+
+	/**
+	 * Points older than a couple of days are merged into hourly or daily points, those are returned once per bucket
+	 * at the start of their bucket.
+	 *
+	 * @return every point of this skill between from and to, both inclusive, sorted by time
+	 */
+	public HistoryPoints query(final long accountHash, final Skill skill, final long from, final long to)
+	{
+		if (accountHash == -1 || closed)
+		{
+			return HistoryPoints.EMPTY;
+		}
+
+		load(accountHash);
+		final HistorySeries skillSeries = series.get(skill);
+		return skillSeries == null ? HistoryPoints.EMPTY : skillSeries.query(from, to);
+	}
+
+	/**
+	 * Rewrites the history file and empties the journal
+	 */
+	public void compact()
+	{
+		if (accountHash == -1)
+		{
+			return;
+		}
+
+		final Path path = directory.resolve(accountHash + EXTENSION);
+		final Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+		try
+		{
+			Files.createDirectories(directory);
+			Files.write(temp, encode(series));
+			try
+			{
+				Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			}
+			catch (AtomicMoveNotSupportedException e)
+			{
+				Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
+		catch (IOException e)
+		{
+			// Keep appending to the journal, the next compaction will try again
+			log.warn("Unable to write the history {}", path, e);
+			return;
+		}
+
+		journalEntries = 0;
+		dirty = false;
+		if (journal != null)
+		{
+			try
+			{
+				journal.truncate(0);
+			}
+			catch (IOException e)
+			{
+				log.warn("Unable to reset the history journal", e);
+				closeJournal();
+			}
+		}
+	}
+
+	/**
+	 * Writes any outstanding points to the history file, points recorded afterwards are ignored
+	 */
+	public void close()
+	{
+		unload();
+		closed = true;
+	}
+
+	/**
+	 * Writes any outstanding points to the history file and forgets the loaded account
+	 */
+	private void unload()
+	{
+		if (dirty)
+		{
+			compact();
+		}
+
+		closeJournal();
+		accountHash = -1;
+		journalEntries = 0;
+		dirty = false;
+		series.clear();
+	}
+
+	private void load(final long accountHash)
+	{
+		if (accountHash == this.accountHash)
+		{
+			return;
+		}
+
+		unload();
+		final long start = System.nanoTime();
+		this.accountHash = accountHash;
+		final Path path = directory.resolve(accountHash + EXTENSION);
+		try
+		{
+			decode(ByteBuffer.wrap(Files.readAllBytes(path)), series);
+		}
+		catch (NoSuchFileException e)
+		{
+			// Nothing has been recorded for this account yet
+		}
+		catch (IOException | RuntimeException e)
+		{
+			log.warn("Unable to read the history {}", path, e);
+			series.clear();
+		}
+
+		try
+		{
+			Files.createDirectories(directory);
+			journal = FileChannel.open(directory.resolve(accountHash + JOURNAL_EXTENSION),
+				StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+			replayJournal(journal);
+		}
+		catch (IOException e)
+		{
+			log.warn("Unable to open the history journal, new points will not be saved", e);
+			closeJournal();
+		}
+
+		log.debug("Loaded the history of {} skills and replayed {} journal records in {}ms", series.size(),
+			journalEntries, (System.nanoTime() - start) / 1_000_000);
+	}
+
+	private void replayJournal(final FileChannel channel) throws IOException
+	{
+		final ByteBuffer in = ByteBuffer.allocate((int) channel.size());
+		while (in.hasRemaining() && channel.read(in) >= 0)
+		{
+			// read the whole journal
+		}
+		in.flip();
+
+		// Records of a journal that wasn't emptied after the history was written are already part of the history
+		final long[] persisted = new long[SKILLS.length];
+		for (final Skill skill : SKILLS)
+		{
+			final HistorySeries skillSeries = series.get(skill);
+			persisted[skill.ordinal()] = skillSeries == null ? Long.MIN_VALUE : skillSeries.lastTime();
+		}
+
+		while (in.remaining() >= RECORD_SIZE)
+		{
+			final int skill = in.get();
+			final long time = in.getLong();
+			final long xp = in.getLong();
+			final int items = in.getInt();
+			journalEntries++;
+			if (skill < 0 || skill >= SKILLS.length)
+			{
+				continue;
+			}
+
+			final HistorySeries skillSeries = series.computeIfAbsent(SKILLS[skill], k -> new HistorySeries());
+			if (skillSeries.bucketStart(time) > persisted[skill])
+			{
+				skillSeries.add(time, xp, items);
+			}
+		}
+		// Replayed records are folded into the history file and dropped from the journal by the next compaction
+		dirty = journalEntries > 0;
+
+		// Drop a record that was only partially written
+		final long end = in.position();
+		channel.truncate(end);
+		channel.position(end);
+	}
+
+	private void closeJournal()
+	{
+		if (journal == null)
+		{
+			return;
+		}
+
+		try
+		{
+			journal.close();
+		}
+		catch (IOException e)
+		{
+			log.warn("Unable to close the history journal", e);
+		}
+		journal = null;
+	}
+
+	static byte[] encode(final Map<Skill, HistorySeries> series)
+	{
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		final ByteBuffer header = ByteBuffer.allocate(5).putInt(MAGIC).put((byte) VERSION);
+		out.write(header.array(), 0, header.capacity());
+		Varints.write(out, series.size());
+		for (final Map.Entry<Skill, HistorySeries> entry : series.entrySet())
+		{
+			Varints.write(out, entry.getKey().ordinal());
+			for (final HistoryTier tier : entry.getValue().tiers)
+			{
+				final int size = tier.size();
+				Varints.write(out, size);
+
+				long last = 0;
+				for (int i = 0; i < size; i++)
+				{
+					Varints.writeLong(out, Varints.zigZag(tier.getTime(i) - last));
+					last = tier.getTime(i);
+				}
+
+				last = 0;
+				for (int i = 0; i < size; i++)
+				{
+					Varints.writeLong(out, Varints.zigZag(tier.getXp(i) - last));
+					last = tier.getXp(i);
+				}
+
+				int lastItems = 0;
+				for (int i = 0; i < size; i++)
+				{
+					Varints.write(out, Varints.zigZag(tier.getItems(i) - lastItems));
+					lastItems = tier.getItems(i);
+				}
+			}
+		}
+
+		final CRC32 crc = new CRC32();
+		crc.update(out.toByteArray());
+		final ByteBuffer footer = ByteBuffer.allocate(4).putInt((int) crc.getValue());
+		out.write(footer.array(), 0, footer.capacity());
+		return out.toByteArray();
+	}
+
+	static void decode(final ByteBuffer buffer, final Map<Skill, HistorySeries> series) throws IOException
+	{
+		if (buffer.remaining() < 9)
+		{
+			throw new IOException("History is truncated");
+		}
+
+		final int crcPosition = buffer.limit() - 4;
+		final ByteBuffer in = buffer.duplicate();
+		in.limit(crcPosition);
+		final CRC32 crc = new CRC32();
+		crc.update(in.duplicate());
+		if ((int) crc.getValue() != buffer.getInt(crcPosition))
+		{
+			throw new IOException("History checksum mismatch");
+		}
+
+		if (in.getInt() != MAGIC)
+		{
+			throw new IOException("Not a history file");
+		}
+
+		final int version = in.get();
+		if (version != VERSION)
+		{
+			throw new IOException("Unsupported history version " + version);
+		}
+
+		final int skills = Varints.read(in);
+		for (int s = 0; s < skills; s++)
+		{
+			final HistorySeries skillSeries = new HistorySeries();
+			series.put(SKILLS[Varints.read(in)], skillSeries);
+			for (final HistoryTier tier : skillSeries.tiers)
+			{
+				final int size = Varints.read(in);
+				if (size < 0 || size > tier.capacity())
+				{
+					throw new IOException("History tier is too large");
+				}
+
+				final long[] times = new long[size];
+				final long[] xp = new long[size];
+				long last = 0;
+				for (int i = 0; i < size; i++)
+				{
+					last += Varints.unZigZag(Varints.readLong(in));
+					times[i] = last;
+				}
+
+				last = 0;
+				for (int i = 0; i < size; i++)
+				{
+					last += Varints.unZigZag(Varints.readLong(in));
+					xp[i] = last;
+				}
+
+				int items = 0;
+				for (int i = 0; i < size; i++)
+				{
+					items += Varints.unZigZag(Varints.read(in));
+					tier.append(times[i], xp[i], items);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2026, TheStonedTurtle <https://github.com/TheStonedTurtle>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package thestonedturtle.bankedexperience.report;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Skill;
+import thestonedturtle.bankedexperience.data.Activity;
+import thestonedturtle.bankedexperience.engine.BankedXpEngine;
+import thestonedturtle.bankedexperience.engine.BankedXpInput;
+
+/**
+ * Exports the banked experience of every bankable skill. Each skill is written as soon as it has been calculated so
+ * the report is never held in memory as a whole. Can be used from any thread.
+ */
+@Slf4j
+public final class BankedXpReport
+{
+	private BankedXpReport()
+	{
+	}
+
+	public static void export(final BankedXpInput input, final Path path, final ReportFormat format) throws IOException
+	{
+		final long start = System.nanoTime();
+		try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+			ReportWriter out = ReportWriter.create(format, writer))
+		{
+			for (final Skill skill : Activity.BANKABLE_SKILLS)
+			{
+				out.write(BankedXpEngine.calculate(input, skill));
+			}
+		}
+
+		log.debug("Exported banked experience report to {} in {}ms", path, (System.nanoTime() - start) / 1_000_000);
+	}
+}
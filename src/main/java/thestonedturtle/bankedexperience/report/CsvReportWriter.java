@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2026, TheStonedTurtle <https://github.com/TheStonedTurtle>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package thestonedturtle.bankedexperience.report;
+
+import java.io.IOException;
+import java.io.Writer;
+import thestonedturtle.bankedexperience.data.ItemInfo;
+import thestonedturtle.bankedexperience.engine.BankedXpResult;
+
+/**
+ * Writes one line per banked item, secondary and skill total. The type column tells which columns are used.
+ */
+class CsvReportWriter implements ReportWriter
+{
+	private static final String HEADER = "type,skill,level,item_id,name,quantity,activity,xp_each,xp,ignored,"
+		+ "required,available,shortfall";
+
+	private final Writer out;
+
+	CsvReportWriter(final Writer out) throws IOException
+	{
+		this.out = out;
+		out.write(HEADER);
+		out.write('\n');
+	}
+
+	@Override
+	public void write(final BankedXpResult report) throws IOException
+	{
+		final String skill = report.getSkill().getName();
+		for (final BankedXpResult.Row row : report.getRows())
+		{
+			line("item", skill, report.getLevel(), row.getItem().getItemID(), ReportWriter.getName(row), row.getQty(),
+				row.getActivity() == null ? "" : row.getActivity().getName(), row.getXpEach(), row.getXp(),
+				row.isIgnored(), "", "", "");
+		}
+
+		for (final int itemId : report.getSecondaries().getContributions().keySet())
+		{
+			final ItemInfo info = report.getSecondaries().getInfo(itemId);
+			final double required = report.getSecondaries().getRequired(itemId);
+			final int available = report.getSecondaries().getAvailable(itemId);
+			line("secondary", skill, report.getLevel(), itemId, info == null ? "" : info.getName(), "", "", "", "", "",
+				required, available, Math.max(0, required - available));
+		}
+
+		line("total", skill, report.getLevel(), "", "", "", "", "", report.getTotalXp(), "", "", "", "");
+	}
+
+	private void line(final Object... values) throws IOException
+	{
+		for (int i = 0; i < values.length; i++)
+		{
+			if (i > 0)
+			{
+				out.write(',');
+			}
+			out.write(escape(String.valueOf(values[i])));
+		}
+		out.write('\n');
+	}
+
+	private static String escape(final String value)
+	{
+		if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0)
+		{
+			return value;
+		}
+
+		return '"' + value.replace("\"", "\"\"") + '"';
+	}
+
+	@Override
+	public void close() throws IOException
+	{
+		out.close();
+	}
+}
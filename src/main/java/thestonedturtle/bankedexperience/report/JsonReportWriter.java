@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2026, TheStonedTurtle <https://github.com/TheStonedTurtle>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package thestonedturtle.bankedexperience.report;
+
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.io.Writer;
+import thestonedturtle.bankedexperience.data.ItemInfo;
+import thestonedturtle.bankedexperience.engine.BankedXpResult;
+
+/**
+ * Writes an array with an object for every skill holding its banked items, secondaries and total
+ */
+class JsonReportWriter implements ReportWriter
+{
+	private final JsonWriter out;
+
+	JsonReportWriter(final Writer writer) throws IOException
+	{
+		out = new JsonWriter(writer);
+		out.setIndent("  ");
+		out.beginArray();
+	}
+
+	@Override
+	public void write(final BankedXpResult report) throws IOException
+	{
+		out.beginObject();
+		out.name("skill").value(report.getSkill().getName());
+		out.name("level").value(report.getLevel());
+		out.name("totalXp").value(report.getTotalXp());
+
+		out.name("items").beginArray();
+		for (final BankedXpResult.Row row : report.getRows())
+		{
+			out.beginObject();
+			out.name("itemId").value(row.getItem().getItemID());
+			out.name("name").value(ReportWriter.getName(row));
+			out.name("quantity").value(row.getQty());
+			out.name("activity").value(row.getActivity() == null ? null : row.getActivity().getName());
+			out.name("xpEach").value(row.getXpEach());
+			out.name("xp").value(row.getXp());
+			out.name("ignored").value(row.isIgnored());
+			out.endObject();
+		}
+		out.endArray();
+
+		out.name("secondaries").beginArray();
+		for (final int itemId : report.getSecondaries().getContributions().keySet())
+		{
+			final ItemInfo info = report.getSecondaries().getInfo(itemId);
+			final double required = report.getSecondaries().getRequired(itemId);
+			final int available = report.getSecondaries().getAvailable(itemId);
+			out.beginObject();
+			out.name("itemId").value(itemId);
+			out.name("name").value(info == null ? null : info.getName());
+			out.name("required").value(required);
+			out.name("available").value(available);
+			out.name("shortfall").value(Math.max(0, required - available));
+			out.endObject();
+		}
+		out.endArray();
+
+		out.endObject();
+	}
+
+	@Override
+	public void close() throws IOException
+	{
+		out.endArray();
+		out.close();
+	}
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2026, TheStonedTurtle <https://github.com/TheStonedTurtle>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package thestonedturtle.bankedexperience.sources;
+
+import java.util.function.Predicate;
+import javax.annotation.Nullable;
+import net.runelite.api.Client;
+import net.runelite.api.Item;
+import net.runelite.api.ItemContainer;
+import thestonedturtle.bankedexperience.BankedExperienceConfig;
+
+/**
+ * A source backed by an item container, tracked under the container id
+ */
+public class ItemContainerSource extends StorageSource
+{
+	public ItemContainerSource(final int containerId, @Nullable final String configKey,
+		final Predicate<BankedExperienceConfig> enabled)
+	{
+		super(containerId, Trigger.ITEM_CONTAINER, containerId, configKey, enabled);
+	}
+
+	@Override
+	public boolean isResolvingItems()
+	{
+		return true;
+	}
+
+	@Override
+	public boolean read(final Client client, final SourceSlots slots)
+	{
+		final ItemContainer c = client.getItemContainer(getTriggerId());
+		if (c == null)
+		{
+			return false;
+		}
+
+		final Item[] items = c.getItems();
+		slots.reset(items.length);
+		for (int i = 0; i < items.length; i++)
+		{
+			slots.set(i, items[i].getId(), items[i].getQuantity());
+		}
+
+		return true;
+	}
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2026, TheStonedTurtle <https://github.com/TheStonedTurtle>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package thestonedturtle.bankedexperience.sources;
+
+import java.util.Arrays;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Client;
+import net.runelite.api.EnumComposition;
+import net.runelite.api.EnumID;
+import net.runelite.api.ScriptID;
+import net.runelite.api.gameval.InterfaceID;
+import net.runelite.api.gameval.InventoryID;
+import net.runelite.api.widgets.Widget;
+import thestonedturtle.bankedexperience.BankedExperienceConfig;
+import static thestonedturtle.bankedexperience.BankedExperienceConfig.POTION_STORAGE_KEY;
+
+/**
+ * Tracks the doses stored inside the potion storage. Every potion is treated as its own slot whose item id is the
+ * 1-dose variant of the potion.
+ * <p>
+ * Which potions a varp holds the doses for can not be read from the client, so any change to the varps the potion
+ * store rebuilds on re-runs the dose script for every potion. Must be used on the client thread.
+ */
+@Slf4j
+public class PotionStorage extends StorageSource
+{
+	private static final int POTION_STORAGE_FAKE_INVENTORY_ID = -420;
+
+	private final Client client;
+
+	private boolean rebuildRequested;
+	private boolean varpsChanged;
+	// The varps the potion store rebuilds on, read from its widget once the bank has been opened
+	private int[] triggerVarps = new int[0];
+	private boolean topologyLoaded;
+	private int[] potionEnumIds = new int[0];
+	private int[] itemIds = new int[0];
+	private int[] doses = new int[0];
+	/**
+	 * The sum of {@link SourceSlots#slotFingerprint(int, int)} for every potion with doses stored
+	 */
+	private long fingerprint;
+
+	PotionStorage(final Client client)
+	{
+		super(POTION_STORAGE_FAKE_INVENTORY_ID, Trigger.VARPS, -1, POTION_STORAGE_KEY,
+			BankedExperienceConfig::grabFromPotionStorage);
+		this.client = client;
+	}
+
+	@Override
+	public int[] getTriggerVarps()
+	{
+		return triggerVarps;
+	}
+
+	@Override
+	public int getInvalidateScriptId()
+	{
+		return ScriptID.BANKMAIN_FINISHBUILDING;
+	}
+
+	@Override
+	public void varpChanged(final int varpId)
+	{
+		varpsChanged = true;
+	}
+
+	@Override
+	public void invalidate()
+	{
+		rebuildRequested = true;
+	}
+
+	@Override
+	public boolean poll(final Client client)
+	{
+		if (rebuildRequested)
+		{
+			rebuildRequested = false;
+			if (client.getItemContainer(InventoryID.BANK) == null)
+			{
+				return false;
+			}
+
+			rebuild();
+
+			final Widget w = client.getWidget(InterfaceID.Bankmain.POTIONSTORE_ITEMS);
+			if (w != null && triggerVarps.length == 0 && w.getVarTransmitTrigger() != null)
+			{
+				// cache varps that the potion store rebuilds on
+				triggerVarps = w.getVarTransmitTrigger();
+			}
+			return true;
+		}
+
+		if (varpsChanged)
+		{
+			rebuild();
+			return true;
+		}
+
+		return false;
+	}
+
+	@Override
+	public boolean read(final Client client, final SourceSlots slots)
+	{
+		slots.copy(itemIds, doses, potionEnumIds.length, fingerprint);
+		return true;
+	}
+
+	/**
+	 * Re-runs the dose script for every potion
+	 */
+	private void rebuild()
+	{
+		final long start = System.nanoTime();
+		if (!topologyLoaded)
+		{
+			loadTopology();
+		}
+
+		varpsChanged = false;
+		final int slots = potionEnumIds.length;
+		for (int i = 0; i < slots; i++)
+		{
+			updateDoses(i);
+		}
+
+		log.debug("Rebuilt {} potion storage slots in {}us", slots, (System.nanoTime() - start) / 1000);
+	}
+
+	/**
+	 * Resolves the potion enum and 1-dose item id of every potion. The game data is only loaded when the client
+	 * starts so these are read once and kept for the lifetime of this instance.
+	 */
+	// Copied mostly from BankPlugin:getPotionStoragePrice
+	private void loadTopology()
+	{
+		EnumComposition potionStorePotions = client.getEnum(EnumID.POTIONSTORE_POTIONS);
+		EnumComposition potionStoreUnfinishedPotions = client.getEnum(EnumID.POTIONSTORE_UNFINISHED_POTIONS);
+
+		final int slots = potionStorePotions.getIntVals().length + potionStoreUnfinishedPotions.getIntVals().length;
+		potionEnumIds = new int[slots];
+		itemIds = new int[slots];
+		doses = new int[slots];
+		fingerprint = 0;
+
+		int slot = 0;
+		for (EnumComposition e : new EnumComposition[]{potionStorePotions, potionStoreUnfinishedPotions})
+		{
+			for (int potionEnumId : e.getIntVals())
+			{
+				EnumComposition potionEnum = client.getEnum(potionEnumId);
+				potionEnumIds[slot] = potionEnumId;
+				// Always pull the item ID for 1-dose potions
+				itemIds[slot] = potionEnum.getIntValue(1);
+				slot++;
+			}
+		}
+
+		topologyLoaded = true;
+	}
+
+	private void updateDoses(final int slot)
+	{
+		client.runScript(ScriptID.POTIONSTORE_DOSES, potionEnumIds[slot]);
+		final int newDoses = Math.max(client.getIntStack()[0], 0);
+		final int oldDoses = doses[slot];
+		if (newDoses == oldDoses)
+		{
+			return;
+		}
+
+		if (oldDoses > 0)
+		{
+			fingerprint -= SourceSlots.slotFingerprint(itemIds[slot], oldDoses);
+		}
+		if (newDoses > 0)
+		{
+			fingerprint += SourceSlots.slotFingerprint(itemIds[slot], newDoses);
+		}
+
+		doses[slot] = newDoses;
+	}
+
+	/**
+	 * Forgets all stored doses
+	 */
+	@Override
+	public void reset()
+	{
+		Arrays.fill(doses, 0);
+		fingerprint = 0;
+		varpsChanged = false;
+	}
+}
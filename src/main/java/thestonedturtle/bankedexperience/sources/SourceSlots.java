@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2026, TheStonedTurtle <https://github.com/TheStonedTurtle>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package thestonedturtle.bankedexperience.sources;
+
+import lombok.Getter;
+
+/**
+ * The slots read from a {@link StorageSource}. The arrays are reused between reads and only grow.
+ */
+@Getter
+public final class SourceSlots
+{
+	public static final int EMPTY_SLOT = -1;
+
+	private int[] ids = new int[0];
+	private int[] qtys = new int[0];
+	private int count;
+	/**
+	 * The sum of {@link #slotFingerprint(int, int)} for every non-empty slot
+	 */
+	private long fingerprint;
+
+	/**
+	 * Hashes the contents of a single slot. The fingerprint of a source is the sum of the hash of every non-empty slot,
+	 * which makes it independent of the order of the slots and cheap to build while the slots are being read.
+	 *
+	 * @return the 64-bit hash of this slot
+	 */
+	public static long slotFingerprint(final int id, final int qty)
+	{
+		// SplitMix64 finalizer
+		long z = (((long) id << 32) | (qty & 0xFFFFFFFFL)) + 0x9E3779B97F4A7C15L;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+
+	/**
+	 * Empties all slots and makes room for the passed amount of slots
+	 */
+	public void reset(final int slots)
+	{
+		if (ids.length < slots)
+		{
+			ids = new int[slots];
+			qtys = new int[slots];
+		}
+
+		count = slots;
+		fingerprint = 0;
+	}
+
+	public void set(final int slot, final int id, final int qty)
+	{
+		if (id == EMPTY_SLOT || qty <= 0)
+		{
+			ids[slot] = EMPTY_SLOT;
+			qtys[slot] = 0;
+			return;
+		}
+
+		ids[slot] = id;
+		qtys[slot] = qty;
+		fingerprint += slotFingerprint(id, qty);
+	}
+
+	/**
+	 * Copies slots whose fingerprint is already known
+	 */
+	public void copy(final int[] ids, final int[] qtys, final int count, final long fingerprint)
+	{
+		reset(count);
+		System.arraycopy(ids, 0, this.ids, 0, count);
+		System.arraycopy(qtys, 0, this.qtys, 0, count);
+		this.fingerprint = fingerprint;
+	}
+}
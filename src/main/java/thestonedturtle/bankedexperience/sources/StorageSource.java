@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2026, TheStonedTurtle <https://github.com/TheStonedTurtle>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package thestonedturtle.bankedexperience.sources;
+
+import java.util.function.Predicate;
+import javax.annotation.Nullable;
+import lombok.AccessLevel;
+import lombok.Getter;
+import net.runelite.api.Client;
+import thestonedturtle.bankedexperience.BankedExperienceConfig;
+
+/**
+ * A place outside the bank whose items should be included in the calculations. Every source declares what causes
+ * it to be read, which config toggles it and how its items are extracted. Sources are registered in
+ * {@link StorageSources}.
+ */
+@Getter
+public abstract class StorageSource
+{
+	public enum Trigger
+	{
+		// Read whenever the item container with the trigger id changes
+		ITEM_CONTAINER,
+		// Read whenever the widget group with the trigger id is loaded
+		WIDGET,
+		// Polled every client tick after one of its trigger varps changed
+		VARPS,
+	}
+
+	private static final int[] NO_VARPS = new int[0];
+
+	/**
+	 * The id the items of this source are tracked under
+	 */
+	private final int id;
+	private final Trigger trigger;
+	/**
+	 * The item container id or widget group id this source is read for, unused by {@link Trigger#VARPS} sources
+	 */
+	private final int triggerId;
+	/**
+	 * The config key that toggles this source, null if the source is always included
+	 */
+	@Nullable
+	private final String configKey;
+	@Getter(AccessLevel.NONE)
+	private final Predicate<BankedExperienceConfig> enabled;
+
+	protected StorageSource(final int id, final Trigger trigger, final int triggerId, @Nullable final String configKey,
+		final Predicate<BankedExperienceConfig> enabled)
+	{
+		this.id = id;
+		this.trigger = trigger;
+		this.triggerId = triggerId;
+		this.configKey = configKey;
+		this.enabled = enabled;
+	}
+
+	public boolean isEnabled(final BankedExperienceConfig config)
+	{
+		return enabled.test(config);
+	}
+
+	/**
+	 * @return whether this source can hold noted items and placeholders that need to be resolved
+	 */
+	public boolean isResolvingItems()
+	{
+		return false;
+	}
+
+	/**
+	 * Reads the current contents of this source. Called on the client thread.
+	 *
+	 * @return false if the source could not be read
+	 */
+	public abstract boolean read(Client client, SourceSlots slots);
+
+	/**
+	 * @return the varps this source is polled for, only used by {@link Trigger#VARPS} sources
+	 */
+	public int[] getTriggerVarps()
+	{
+		return NO_VARPS;
+	}
+
+	/**
+	 * @return id of the script that causes this source to be {@link #invalidate() invalidated} once it finishes,
+	 * -1 if there is none
+	 */
+	public int getInvalidateScriptId()
+	{
+		return -1;
+	}
+
+	public void varpChanged(final int varpId)
+	{
+	}
+
+	/**
+	 * Called every client tick for {@link Trigger#VARPS} sources
+	 *
+	 * @return whether the source changed and should be read
+	 */
+	public boolean poll(final Client client)
+	{
+		return false;
+	}
+
+	/**
+	 * Called when the source has been enabled and its contents need to be read from scratch
+	 */
+	public void invalidate()
+	{
+	}
+
+	/**
+	 * Called when the logged in account changes
+	 */
+	public void reset()
+	{
+	}
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2026, TheStonedTurtle <https://github.com/TheStonedTurtle>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package thestonedturtle.bankedexperience.sources;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
+import lombok.Getter;
+import net.runelite.api.Client;
+import net.runelite.api.gameval.InventoryID;
+import thestonedturtle.bankedexperience.BankedExperienceConfig;
+import static thestonedturtle.bankedexperience.BankedExperienceConfig.FOSSIL_CHEST_KEY;
+import static thestonedturtle.bankedexperience.BankedExperienceConfig.INVENTORY_KEY;
+import static thestonedturtle.bankedexperience.BankedExperienceConfig.LOOTING_BAG_KEY;
+import static thestonedturtle.bankedexperience.BankedExperienceConfig.SEED_VAULT_KEY;
+
+/**
+ * Registry of every {@link StorageSource}, indexed by whatever triggers them so events can find their source with a
+ * single lookup. Varps and scripts fire far more often than any source cares about, so they are also kept in bitsets
+ * that can reject an event before anything is boxed.
+ */
+public class StorageSources
+{
+	private static final int LOOTING_BAG_ID = 516;
+
+	@Getter
+	private final List<StorageSource> sources;
+	@Getter
+	private final List<StorageSource> polledSources = new ArrayList<>();
+	private final Map<Integer, StorageSource> byId = new HashMap<>();
+	private final Map<Integer, StorageSource> byContainerId = new HashMap<>();
+	private final Map<Integer, StorageSource> byWidgetGroupId = new HashMap<>();
+	private final Map<Integer, StorageSource> byVarpId = new HashMap<>();
+	private final Map<Integer, List<StorageSource>> byInvalidateScriptId = new HashMap<>();
+	private final Map<String, StorageSource> byConfigKey = new HashMap<>();
+	private final BitSet watchedVarps = new BitSet();
+	private final BitSet watchedScripts = new BitSet();
+	// The trigger varps each source was last indexed with
+	private final Map<StorageSource, int[]> indexedVarps = new IdentityHashMap<>();
+
+	public StorageSources(final StorageSource... sources)
+	{
+		final List<StorageSource> list = new ArrayList<>(sources.length);
+		for (final StorageSource source : sources)
+		{
+			list.add(source);
+			byId.put(source.getId(), source);
+			switch (source.getTrigger())
+			{
+				case ITEM_CONTAINER:
+					byContainerId.put(source.getTriggerId(), source);
+					break;
+				case WIDGET:
+					byWidgetGroupId.put(source.getTriggerId(), source);
+					break;
+				case VARPS:
+					polledSources.add(source);
+					indexVarps(source);
+					break;
+			}
+
+			if (source.getInvalidateScriptId() != -1)
+			{
+				byInvalidateScriptId.computeIfAbsent(source.getInvalidateScriptId(), k -> new ArrayList<>()).add(source);
+				watchedScripts.set(source.getInvalidateScriptId());
+			}
+
+			if (source.getConfigKey() != null)
+			{
+				byConfigKey.put(source.getConfigKey(), source);
+			}
+		}
+
+		this.sources = Collections.unmodifiableList(list);
+	}
+
+	/**
+	 * Creates the registry of every source supported by the plugin. New sources only need to be added here.
+	 */
+	public static StorageSources create(final Client client)
+	{
+		return new StorageSources(
+			new ItemContainerSource(InventoryID.BANK, null, c -> true),
+			new ItemContainerSource(InventoryID.SEED_VAULT, SEED_VAULT_KEY, BankedExperienceConfig::grabFromSeedVault),
+			new ItemContainerSource(InventoryID.INV, INVENTORY_KEY, BankedExperienceConfig::grabFromInventory),
+			new ItemContainerSource(LOOTING_BAG_ID, LOOTING_BAG_KEY, BankedExperienceConfig::grabFromLootingBag),
+			new WidgetSource(605, 11, FOSSIL_CHEST_KEY, BankedExperienceConfig::grabFromFossilChest),
+			new PotionStorage(client)
+		);
+	}
+
+	@Nullable
+	public StorageSource getById(final int id)
+	{
+		return byId.get(id);
+	}
+
+	@Nullable
+	public StorageSource getByContainerId(final int containerId)
+	{
+		return byContainerId.get(containerId);
+	}
+
+	@Nullable
+	public StorageSource getByWidgetGroupId(final int groupId)
+	{
+		return byWidgetGroupId.get(groupId);
+	}
+
+	public boolean isWatchedVarp(final int varpId)
+	{
+		return varpId >= 0 && watchedVarps.get(varpId);
+	}
+
+	@Nullable
+	public StorageSource getByVarpId(final int varpId)
+	{
+		return isWatchedVarp(varpId) ? byVarpId.get(varpId) : null;
+	}
+
+	public boolean isWatchedScript(final int scriptId)
+	{
+		return scriptId >= 0 && watchedScripts.get(scriptId);
+	}
+
+	public List<StorageSource> getByInvalidateScriptId(final int scriptId)
+	{
+		if (!isWatchedScript(scriptId))
+		{
+			return Collections.emptyList();
+		}
+
+		return byInvalidateScriptId.getOrDefault(scriptId, Collections.emptyList());
+	}
+
+	@Nullable
+	public StorageSource getByConfigKey(final String configKey)
+	{
+		return byConfigKey.get(configKey);
+	}
+
+	/**
+	 * Indexes the current trigger varps of this source, they may only become known once the source has been read
+	 */
+	public void indexVarps(final StorageSource source)
+	{
+		final int[] varps = source.getTriggerVarps();
+		if (indexedVarps.get(source) == varps)
+		{
+			return;
+		}
+
+		indexedVarps.put(source, varps);
+		for (final int varpId : varps)
+		{
+			byVarpId.put(varpId, source);
+			watchedVarps.set(varpId);
+		}
+	}
+}
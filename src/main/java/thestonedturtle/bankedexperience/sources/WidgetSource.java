@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2026, TheStonedTurtle <https://github.com/TheStonedTurtle>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package thestonedturtle.bankedexperience.sources;
+
+import java.util.function.Predicate;
+import net.runelite.api.Client;
+import net.runelite.api.widgets.Widget;
+import thestonedturtle.bankedexperience.BankedExperienceConfig;
+
+/**
+ * A source whose items are only shown as the children of a widget, read whenever its widget group is loaded
+ */
+public class WidgetSource extends StorageSource
+{
+	private final int childId;
+
+	public WidgetSource(final int groupId, final int childId, final String configKey,
+		final Predicate<BankedExperienceConfig> enabled)
+	{
+		super(getId(groupId, childId), Trigger.WIDGET, groupId, configKey, enabled);
+		this.childId = childId;
+	}
+
+	/**
+	 * Gets the ID of the group-child pairing. Always negative so it can't collide with item container ids.
+	 *
+	 * @return the ID
+	 */
+	private static int getId(final int groupId, final int childId)
+	{
+		final int id = groupId << 16 | childId;
+		return id < 0 ? id : id * -1;
+	}
+
+	@Override
+	public boolean read(final Client client, final SourceSlots slots)
+	{
+		final Widget w = client.getWidget(getTriggerId(), childId);
+		if (w == null || w.getChildren() == null)
+		{
+			return false;
+		}
+
+		final int count = w.getChildren().length;
+		slots.reset(count);
+		for (int i = 0; i < count; i++)
+		{
+			final Widget childWidget = w.getChild(i);
+			slots.set(i, childWidget.getItemId() <= 0 ? SourceSlots.EMPTY_SLOT : childWidget.getItemId(),
+				childWidget.getItemQuantity());
+		}
+
+		return true;
+	}
+}
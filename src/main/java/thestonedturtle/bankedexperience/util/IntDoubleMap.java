@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2026, TheStonedTurtle <https://github.com/TheStonedTurtle>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package thestonedturtle.bankedexperience.util;
+
+import java.util.Arrays;
+
+/**
+ * An open addressing hash map of int keys to double values, see {@link IntIntMap}.
+ * Entries are never removed individually as the map is only used to sum values before being cleared for reuse.
+ * Missing keys have a value of 0.
+ */
+public final class IntDoubleMap
+{
+	private static final int FREE_KEY = Integer.MIN_VALUE;
+	private static final float LOAD_FACTOR = 0.5f;
+
+	@FunctionalInterface
+	public interface EntryConsumer
+	{
+		void accept(int key, double value);
+	}
+
+	private int[] keys;
+	private double[] values;
+	private int mask;
+	private int size;
+
+	public IntDoubleMap()
+	{
+		this(16);
+	}
+
+	public IntDoubleMap(final int expectedSize)
+	{
+		final int needed = (int) Math.ceil(Math.max(expectedSize, 2) / LOAD_FACTOR);
+		final int capacity = Integer.highestOneBit(needed - 1) << 1;
+		keys = new int[capacity];
+		values = new double[capacity];
+		mask = capacity - 1;
+		Arrays.fill(keys, FREE_KEY);
+	}
+
+	private static int hash(final int key)
+	{
+		final int h = key * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	private int slotOf(final int key)
+	{
+		int i = hash(key) & mask;
+		while (keys[i] != FREE_KEY && keys[i] != key)
+		{
+			i = (i + 1) & mask;
+		}
+
+		return i;
+	}
+
+	public double get(final int key)
+	{
+		final int i = slotOf(key);
+		return keys[i] == FREE_KEY ? 0 : values[i];
+	}
+
+	public boolean containsKey(final int key)
+	{
+		return keys[slotOf(key)] != FREE_KEY;
+	}
+
+	public void put(final int key, final double value)
+	{
+		set(key, value, false);
+	}
+
+	/**
+	 * Adds the delta to the current value of the key
+	 */
+	public void add(final int key, final double delta)
+	{
+		set(key, delta, true);
+	}
+
+	private void set(final int key, final double value, final boolean add)
+	{
+		if (key == FREE_KEY)
+		{
+			throw new IllegalArgumentException("Unsupported key: " + key);
+		}
+
+		final int i = slotOf(key);
+		if (keys[i] != FREE_KEY)
+		{
+			values[i] = add ? values[i] + value : value;
+			return;
+		}
+
+		keys[i] = key;
+		values[i] = value;
+		if (++size > keys.length * LOAD_FACTOR)
+		{
+			rehash(keys.length << 1);
+		}
+	}
+
+	private void rehash(final int capacity)
+	{
+		final int[] oldKeys = keys;
+		final double[] oldValues = values;
+		keys = new int[capacity];
+		values = new double[capacity];
+		mask = capacity - 1;
+		size = 0;
+		Arrays.fill(keys, FREE_KEY);
+
+		for (int i = 0; i < oldKeys.length; i++)
+		{
+			if (oldKeys[i] != FREE_KEY)
+			{
+				put(oldKeys[i], oldValues[i]);
+			}
+		}
+	}
+
+	public void forEach(final EntryConsumer consumer)
+	{
+		for (int i = 0; i < keys.length; i++)
+		{
+			if (keys[i] != FREE_KEY)
+			{
+				consumer.accept(keys[i], values[i]);
+			}
+		}
+	}
+
+	public int size()
+	{
+		return size;
+	}
+
+	public boolean isEmpty()
+	{
+		return size == 0;
+	}
+
+	/**
+	 * Removes all entries while keeping the backing arrays for reuse
+	 */
+	public void clear()
+	{
+		if (size == 0)
+		{
+			return;
+		}
+
+		Arrays.fill(keys, FREE_KEY);
+		size = 0;
+	}
+}
@@ -0,0 +1,279 @@
+/*
+ * Copyright (c) 2026, TheStonedTurtle <https://github.com/TheStonedTurtle>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package thestonedturtle.bankedexperience.util;
+
+import java.util.Arrays;
+
+/**
+ * An open addressing hash map of int keys to int values. Values are stored unboxed and the backing arrays are reused
+ * after {@link #clear()} so a map that is reused for every update will not allocate once it has grown large enough.
+ * Missing keys have a value of 0.
+ */
+public final class IntIntMap
+{
+	private static final int FREE_KEY = Integer.MIN_VALUE;
+	private static final float LOAD_FACTOR = 0.5f;
+
+	@FunctionalInterface
+	public interface EntryConsumer
+	{
+		void accept(int key, int value);
+	}
+
+	private int[] keys;
+	private int[] values;
+	private int mask;
+	private int size;
+
+	public IntIntMap()
+	{
+		this(64);
+	}
+
+	public IntIntMap(final int expectedSize)
+	{
+		final int capacity = tableSize(expectedSize);
+		keys = new int[capacity];
+		values = new int[capacity];
+		mask = capacity - 1;
+		Arrays.fill(keys, FREE_KEY);
+	}
+
+	private static int tableSize(final int expectedSize)
+	{
+		final int needed = (int) Math.ceil(Math.max(expectedSize, 2) / LOAD_FACTOR);
+		return Integer.highestOneBit(needed - 1) << 1;
+	}
+
+	private static int hash(final int key)
+	{
+		// Item ids are sequential so spread them before masking
+		final int h = key * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	private int indexOf(final int key)
+	{
+		int i = hash(key) & mask;
+		while (keys[i] != FREE_KEY)
+		{
+			if (keys[i] == key)
+			{
+				return i;
+			}
+			i = (i + 1) & mask;
+		}
+
+		return -1;
+	}
+
+	public int get(final int key)
+	{
+		return getOrDefault(key, 0);
+	}
+
+	public int getOrDefault(final int key, final int defaultValue)
+	{
+		final int i = indexOf(key);
+		return i == -1 ? defaultValue : values[i];
+	}
+
+	public boolean containsKey(final int key)
+	{
+		return indexOf(key) != -1;
+	}
+
+	public void put(final int key, final int value)
+	{
+		if (key == FREE_KEY)
+		{
+			throw new IllegalArgumentException("Unsupported key: " + key);
+		}
+
+		int i = hash(key) & mask;
+		while (keys[i] != FREE_KEY)
+		{
+			if (keys[i] == key)
+			{
+				values[i] = value;
+				return;
+			}
+			i = (i + 1) & mask;
+		}
+
+		keys[i] = key;
+		values[i] = value;
+		if (++size > keys.length * LOAD_FACTOR)
+		{
+			rehash(keys.length << 1);
+		}
+	}
+
+	/**
+	 * Adds the delta to the current value of the key. The entry is removed once its value reaches 0.
+	 *
+	 * @return the new value of the key
+	 */
+	public int add(final int key, final int delta)
+	{
+		final int i = indexOf(key);
+		if (i == -1)
+		{
+			if (delta != 0)
+			{
+				put(key, delta);
+			}
+			return delta;
+		}
+
+		final int value = values[i] + delta;
+		if (value == 0)
+		{
+			removeAt(i);
+		}
+		else
+		{
+			values[i] = value;
+		}
+
+		return value;
+	}
+
+	public void remove(final int key)
+	{
+		final int i = indexOf(key);
+		if (i != -1)
+		{
+			removeAt(i);
+		}
+	}
+
+	private void removeAt(int i)
+	{
+		// Shift the following entries back so lookups never need tombstones
+		int next = (i + 1) & mask;
+		while (keys[next] != FREE_KEY)
+		{
+			final int ideal = hash(keys[next]) & mask;
+			if (((next - ideal) & mask) >= ((next - i) & mask))
+			{
+				keys[i] = keys[next];
+				values[i] = values[next];
+				i = next;
+			}
+			next = (next + 1) & mask;
+		}
+
+		keys[i] = FREE_KEY;
+		size--;
+	}
+
+	private void rehash(final int capacity)
+	{
+		final int[] oldKeys = keys;
+		final int[] oldValues = values;
+		keys = new int[capacity];
+		values = new int[capacity];
+		mask = capacity - 1;
+		size = 0;
+		Arrays.fill(keys, FREE_KEY);
+
+		for (int i = 0; i < oldKeys.length; i++)
+		{
+			if (oldKeys[i] != FREE_KEY)
+			{
+				put(oldKeys[i], oldValues[i]);
+			}
+		}
+	}
+
+	public void putAll(final IntIntMap other)
+	{
+		for (int i = 0; i < other.keys.length; i++)
+		{
+			if (other.keys[i] != FREE_KEY)
+			{
+				put(other.keys[i], other.values[i]);
+			}
+		}
+	}
+
+	/**
+	 * Adds the value of every entry of the other map, entries whose sum is 0 are removed
+	 */
+	public void addAll(final IntIntMap other)
+	{
+		for (int i = 0; i < other.keys.length; i++)
+		{
+			if (other.keys[i] != FREE_KEY)
+			{
+				add(other.keys[i], other.values[i]);
+			}
+		}
+	}
+
+	public void forEach(final EntryConsumer consumer)
+	{
+		for (int i = 0; i < keys.length; i++)
+		{
+			if (keys[i] != FREE_KEY)
+			{
+				consumer.accept(keys[i], values[i]);
+			}
+		}
+	}
+
+	public int size()
+	{
+		return size;
+	}
+
+	public boolean isEmpty()
+	{
+		return size == 0;
+	}
+
+	/**
+	 * Removes all entries while keeping the backing arrays for reuse
+	 */
+	public void clear()
+	{
+		if (size == 0)
+		{
+			return;
+		}
+
+		Arrays.fill(keys, FREE_KEY);
+		size = 0;
+	}
+
+	@Override
+	public String toString()
+	{
+		final StringBuilder b = new StringBuilder("{");
+		forEach((k, v) -> b.append(b.length() == 1 ? "" : ", ").append(k).append('=').append(v));
+		return b.append('}').toString();
+	}
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2026, TheStonedTurtle <https://github.com/TheStonedTurtle>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package thestonedturtle.bankedexperience;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import net.runelite.api.Skill;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import thestonedturtle.bankedexperience.data.Activity;
+import thestonedturtle.bankedexperience.data.ExperienceItem;
+import thestonedturtle.bankedexperience.engine.BankedXpEngine;
+import thestonedturtle.bankedexperience.engine.BankedXpInput;
+import thestonedturtle.bankedexperience.engine.BankedXpResult;
+import thestonedturtle.bankedexperience.util.IntIntMap;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeTrue;
+
+public class BankedXpBatchTest
+{
+	private static final Logger log = LoggerFactory.getLogger(BankedXpBatchTest.class);
+	private static final String[] SEPARATORS = {",", ":", " ", "\t", ", "};
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testTotalsMatchTheEngine() throws Exception
+	{
+		assertTotalsMatchTheEngine(true);
+	}
+
+	@Test
+	public void testTotalsWithoutCascadeMatchTheEngine() throws Exception
+	{
+		assertTotalsMatchTheEngine(false);
+	}
+
+	@Test
+	public void testInvalidArgumentsAreRejected() throws Exception
+	{
+		final String dumps = folder.newFolder().toString();
+		assertEquals(2, BankedXpBatch.run(new String[]{dumps, "--threads"}));
+		assertEquals(2, BankedXpBatch.run(new String[]{"--threads", "many", dumps}));
+		assertEquals(2, BankedXpBatch.run(new String[]{"--threads", "0", dumps}));
+		assertEquals(2, BankedXpBatch.run(new String[]{dumps, "--out"}));
+		assertEquals(2, BankedXpBatch.run(new String[]{"--unknown", dumps}));
+		assertEquals(2, BankedXpBatch.run(new String[]{"--no-cascade"}));
+	}
+
+	@Test
+	public void testThroughput() throws Exception
+	{
+		assumeTrue(Boolean.getBoolean("benchmark"));
+
+		final int accounts = 2000;
+		final Path dumps = folder.newFolder().toPath();
+		final Random random = new Random(0);
+		for (int i = 0; i < accounts; i++)
+		{
+			writeDump(dumps.resolve(String.format("account-%05d.txt", i)), createBank(random), random);
+		}
+
+		final Path out = folder.getRoot().toPath().resolve("totals.csv");
+		// Warm up on the same dumps first
+		BankedXpBatch.run(new String[]{"--out", out.toString(), dumps.toString()});
+
+		final long start = System.nanoTime();
+		assertEquals(0, BankedXpBatch.run(new String[]{"--out", out.toString(), dumps.toString()}));
+		final long nanos = System.nanoTime() - start;
+
+		assertEquals(1 + accounts * Activity.BANKABLE_SKILLS.size(), Files.readAllLines(out).size());
+		log.info("Calculated {} accounts in {}ms, {} accounts per minute", accounts, nanos / 1_000_000,
+			accounts * 60_000_000_000L / nanos);
+	}
+
+	private void assertTotalsMatchTheEngine(final boolean cascade) throws Exception
+	{
+		final Path dumps = folder.newFolder().toPath();
+		final Random random = new Random(0);
+		final List<IntIntMap> banks = new ArrayList<>();
+		for (int i = 0; i < 25; i++)
+		{
+			final IntIntMap bank = createBank(random);
+			writeDump(dumps.resolve(String.format("account-%02d.txt", i)), bank, random);
+			banks.add(bank);
+		}
+		// Not a bank dump
+		Files.write(dumps.resolve("notes.md"), Collections.singletonList("995,1000"));
+
+		final Path out = folder.getRoot().toPath().resolve("totals.csv");
+		final List<String> args = new ArrayList<>();
+		if (!cascade)
+		{
+			args.add("--no-cascade");
+		}
+		Collections.addAll(args, "--threads", "3", "--out", out.toString(), dumps.toString());
+		assertEquals(0, BankedXpBatch.run(args.toArray(new String[0])));
+
+		final List<String> lines = Files.readAllLines(out, StandardCharsets.UTF_8);
+		assertEquals("account,skill,banked_xp,items", lines.get(0));
+		int line = 1;
+		for (int i = 0; i < banks.size(); i++)
+		{
+			final BankedXpInput input = new BankedXpInput(banks.get(i), new Activity[ExperienceItem.values().length],
+				new BitSet(), BankedXpEngine.resolveXpRates(Collections.emptyList()), Collections.emptyMap(),
+				Collections.emptyMap(), 0, 1, false, cascade);
+			for (final Skill skill : Activity.BANKABLE_SKILLS)
+			{
+				final BankedXpResult result = BankedXpEngine.calculate(input, skill);
+				assertEquals(String.format("account-%02d,%s,%d,%d", i, skill.getName(), (long) result.getTotalXp(),
+					result.getTotalItems()), lines.get(line++));
+			}
+		}
+		assertEquals(lines.size(), line);
+	}
+
+	/**
+	 * A bank holding some of the items of every skill and some items no skill uses
+	 */
+	private static IntIntMap createBank(final Random random)
+	{
+		final IntIntMap bank = new IntIntMap();
+		for (final ExperienceItem item : ExperienceItem.values())
+		{
+			if (random.nextInt(3) == 0)
+			{
+				final int[] ids = item.getItemIds();
+				bank.put(ids[random.nextInt(ids.length)], 1 + random.nextInt(10_000));
+			}
+		}
+
+		for (int i = 0; i < 100; i++)
+		{
+			bank.put(30_000 + random.nextInt(1000), 1 + random.nextInt(1000));
+		}
+		return bank;
+	}
+
+	/**
+	 * Writes the bank in the dump format with a mix of separators, a header and comments
+	 */
+	private static void writeDump(final Path path, final IntIntMap bank, final Random random) throws IOException
+	{
+		final StringBuilder dump = new StringBuilder("# exported bank\nid,quantity\n\n");
+		bank.forEach((id, qty) -> dump.append(id)
+			.append(SEPARATORS[random.nextInt(SEPARATORS.length)])
+			.append(qty)
+			.append('\n'));
+		Files.write(path, dump.toString().getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2026, TheStonedTurtle <https://github.com/TheStonedTurtle>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package thestonedturtle.bankedexperience;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntUnaryOperator;
+import net.runelite.api.ItemComposition;
+import org.junit.Test;
+import thestonedturtle.bankedexperience.data.RelevantItems;
+import thestonedturtle.bankedexperience.sources.SourceSlots;
+import thestonedturtle.bankedexperience.util.IntIntMap;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+public class InventoryTrackerTest
+{
+	private static final int BANK = 95;
+	private static final int BANK_SLOTS = 1400;
+	// Made up item ids for the noted variants and placeholders of relevant items
+	private static final int NOTED_OFFSET = 100_000;
+	private static final int PLACEHOLDER_OFFSET = 200_000;
+	private static final IntUnaryOperator IDENTITY = id -> id;
+
+	private final InventoryTracker tracker = new InventoryTracker();
+	private final IntIntMap delta = new IntIntMap();
+
+	@Test
+	public void testFirstUpdateReportsEveryItem()
+	{
+		update(slots(995, 100, 560, 5, 995, 50));
+
+		assertEquals(2, delta.size());
+		assertEquals(150, delta.get(995));
+		assertEquals(5, delta.get(560));
+		assertTrue(tracker.contains(BANK));
+	}
+
+	@Test
+	public void testUnchangedSlotsReportNothing()
+	{
+		update(slots(995, 100, 560, 5));
+		update(slots(995, 100, 560, 5));
+		assertTrue(delta.isEmpty());
+
+		// Same items in different slots
+		update(slots(560, 5, 995, 100));
+		assertTrue(delta.isEmpty());
+	}
+
+	@Test
+	public void testChangedSlotsReportDifference()
+	{
+		update(slots(995, 100, 560, 5, 554, 10));
+		update(slots(995, 80, 554, 10, 556, 3));
+
+		assertEquals(3, delta.size());
+		assertEquals(-20, delta.get(995));
+		assertEquals(-5, delta.get(560));
+		assertEquals(3, delta.get(556));
+		assertFalse(delta.containsKey(554));
+	}
+
+	@Test
+	public void testRemovedSlotsReportNegativeQuantities()
+	{
+		update(slots(995, 100, 560, 5));
+		update(slots(995, 100));
+
+		assertEquals(1, delta.size());
+		assertEquals(-5, delta.get(560));
+	}
+
+	@Test
+	public void testResolverIsAppliedToChangedSlots()
+	{
+		// 1 is counted as 2 and 3 is skipped
+		final IntUnaryOperator resolver = id -> id == 1 ? 2 : id == 3 ? SourceSlots.EMPTY_SLOT : id;
+		final SourceSlots slots = slots(1, 10, 2, 5, 3, 7);
+		delta.clear();
+		tracker.update(BANK, slots.getIds(), slots.getQtys(), slots.getCount(), slots.getFingerprint(), resolver, delta);
+
+		assertEquals(1, delta.size());
+		assertEquals(15, delta.get(2));
+	}
+
+	@Test
+	public void testRemovedSourceReportsEverythingAgain()
+	{
+		update(slots(995, 100));
+		tracker.remove(BANK);
+		assertFalse(tracker.contains(BANK));
+
+		update(slots(995, 100));
+		assertEquals(100, delta.get(995));
+	}
+
+	@Test
+	public void testSteadyStateIngestionDoesNotAllocate()
+	{
+		final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+		final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+		assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+
+		// A full bank of relevant items, their noted variants and placeholders that keeps changing between two states
+		final int[] relevant = relevantItemIds(BANK_SLOTS / 2);
+		final Map<Integer, ItemComposition> compositions = new HashMap<>();
+		final int[] ids = new int[BANK_SLOTS];
+		final int[][] qtys = new int[2][BANK_SLOTS];
+		for (int i = 0; i < BANK_SLOTS; i++)
+		{
+			final int item = relevant[i / 2];
+			switch (i % 4)
+			{
+				case 1:
+					ids[i] = NOTED_OFFSET + item;
+					compositions.put(ids[i], composition(item, -1));
+					break;
+				case 3:
+					ids[i] = PLACEHOLDER_OFFSET + item;
+					compositions.put(ids[i], composition(-1, item));
+					break;
+				default:
+					ids[i] = item;
+					compositions.put(ids[i], composition(-1, -1));
+			}
+			qtys[0][i] = 10;
+			qtys[1][i] = i % 8 == 0 ? 11 : 10;
+		}
+
+		final ItemIdResolver resolver = new ItemIdResolver(compositions::get);
+		final SourceSlots slots = new SourceSlots();
+		final InventoryBatch batch = new InventoryBatch();
+		// Warm up until the resolved id table, the slot arrays and every map have grown
+		for (int i = 0; i < 10_000; i++)
+		{
+			ingest(resolver, slots, ids, qtys[i % 2], batch);
+		}
+
+		final long threadId = Thread.currentThread().getId();
+		final int iterations = 10_000;
+		final long before = threads.getThreadAllocatedBytes(threadId);
+		for (int i = 0; i < iterations; i++)
+		{
+			ingest(resolver, slots, ids, qtys[i % 2], batch);
+		}
+		final long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+		// Placeholders are skipped, every changed slot is counted as its un-noted item
+		assertEquals(BANK_SLOTS / 8, delta.size());
+		// Allows for the allocation of the measurement itself, but not for a single allocation per update
+		assertTrue("Allocated " + allocated + " bytes", allocated < iterations);
+	}
+
+	/**
+	 * Reads the bank into the slots and adds its changes to the batch of the tick like the plugin does. The batch is
+	 * cleared afterwards as it is once the calculator has applied it.
+	 */
+	private void ingest(final ItemIdResolver resolver, final SourceSlots slots, final int[] ids, final int[] qtys,
+		final InventoryBatch batch)
+	{
+		slots.reset(ids.length);
+		for (int i = 0; i < ids.length; i++)
+		{
+			slots.set(i, ids[i], qtys[i]);
+		}
+
+		delta.clear();
+		tracker.update(BANK, slots.getIds(), slots.getQtys(), slots.getCount(), slots.getFingerprint(), resolver, delta);
+		if (!delta.isEmpty())
+		{
+			batch.add(BANK, delta);
+		}
+		batch.clear();
+	}
+
+	private static int[] relevantItemIds(final int count)
+	{
+		final int[] ids = new int[count];
+		int found = 0;
+		for (int id = 0; found < count; id++)
+		{
+			if (RelevantItems.isRelevant(id))
+			{
+				ids[found++] = id;
+			}
+		}
+		return ids;
+	}
+
+	private static ItemComposition composition(final int linkedNoteId, final int placeholderTemplateId)
+	{
+		return (ItemComposition) Proxy.newProxyInstance(ItemComposition.class.getClassLoader(),
+			new Class<?>[]{ItemComposition.class}, (proxy, method, args) ->
+			{
+				switch (method.getName())
+				{
+					case "getNote":
+						return linkedNoteId == -1 ? -1 : 799;
+					case "getLinkedNoteId":
+						return linkedNoteId;
+					case "getPlaceholderTemplateId":
+						return placeholderTemplateId;
+					default:
+						throw new UnsupportedOperationException(method.getName());
+				}
+			});
+	}
+
+	private void update(final SourceSlots slots)
+	{
+		delta.clear();
+		tracker.update(BANK, slots.getIds(), slots.getQtys(), slots.getCount(), slots.getFingerprint(), IDENTITY,
+			delta);
+	}
+
+	/**
+	 * @param contents item id and quantity pairs, one pair per slot
+	 */
+	private static SourceSlots slots(final int... contents)
+	{
+		final SourceSlots slots = new SourceSlots();
+		slots.reset(contents.length / 2);
+		for (int i = 0; i < contents.length; i += 2)
+		{
+			slots.set(i / 2, contents[i], contents[i + 1]);
+		}
+		return slots;
+	}
+}
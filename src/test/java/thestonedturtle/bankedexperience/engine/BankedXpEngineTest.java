@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2026, TheStonedTurtle <https://github.com/TheStonedTurtle>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package thestonedturtle.bankedexperience.engine;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import net.runelite.api.Experience;
+import net.runelite.api.Skill;
+import org.junit.Test;
+import thestonedturtle.bankedexperience.data.Activity;
+import thestonedturtle.bankedexperience.data.ExperienceItem;
+import thestonedturtle.bankedexperience.util.IntIntMap;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class BankedXpEngineTest
+{
+	private static final int ITEM_COUNT = ExperienceItem.values().length;
+	private static final int BOOST = 3;
+	private static final int XP_MULTIPLIER = 2;
+
+	@Test
+	public void testMatchesBaseline()
+	{
+		assertMatchesBaseline(createInput(false, false));
+	}
+
+	@Test
+	public void testCascadeMatchesBaseline()
+	{
+		assertMatchesBaseline(createInput(false, true));
+	}
+
+	@Test
+	public void testLevelLimitMatchesBaseline()
+	{
+		assertMatchesBaseline(createInput(true, false));
+	}
+
+	@Test
+	public void testLevelLimitAndCascadeMatchBaseline()
+	{
+		assertMatchesBaseline(createInput(true, true));
+	}
+
+	@Test
+	public void testInputIsCopied()
+	{
+		final IntIntMap quantities = new IntIntMap();
+		final Activity[] selections = new Activity[ITEM_COUNT];
+		final BitSet ignored = new BitSet(ITEM_COUNT);
+		final double[] xpRates = BankedXpEngine.resolveXpRates(Collections.emptyList());
+		final ExperienceItem item = ExperienceItem.getBySkill(Skill.PRAYER).iterator().next();
+		quantities.put(item.getItemID(), 100);
+
+		final BankedXpInput input = new BankedXpInput(quantities, selections, ignored, xpRates,
+			Collections.emptyMap(), Collections.emptyMap(), 0, 1, false, false);
+		final double totalXp = BankedXpEngine.calculate(input, Skill.PRAYER).getTotalXp();
+		assertTrue(totalXp > 0);
+
+		quantities.put(item.getItemID(), 5);
+		selections[item.ordinal()] = Activity.values()[0];
+		ignored.set(item.ordinal());
+		Arrays.fill(xpRates, 0);
+
+		assertEquals(100, input.getQty(item.getItemID()));
+		assertNull(input.getSelection(item.ordinal()));
+		assertFalse(input.isIgnored(item.ordinal()));
+		assertEquals(totalXp, BankedXpEngine.calculate(input, Skill.PRAYER).getTotalXp(), 0);
+	}
+
+	private static void assertMatchesBaseline(final BankedXpInput input)
+	{
+		for (final Skill skill : Activity.BANKABLE_SKILLS)
+		{
+			final BankedXpResult result = BankedXpEngine.calculate(input, skill);
+			final BaselineCalculator baseline = BaselineCalculator.calculate(input, skill);
+			for (final ExperienceItem item : ExperienceItem.getBySkill(skill))
+			{
+				assertEquals(item.name(), baseline.qtys[item.ordinal()], result.getQty(item));
+			}
+
+			// Only the order the experience is added in differs
+			final double delta = Math.max(1, baseline.totalXp) * 1e-9;
+			assertEquals(skill.getName(), baseline.totalXp, result.getTotalXp(), delta);
+		}
+	}
+
+	/**
+	 * The same input every time, with a random but fixed bank, selections, ignored items and levels
+	 */
+	private static BankedXpInput createInput(final boolean limitToCurrentLevel, final boolean cascade)
+	{
+		final Random random = new Random(0);
+		final IntIntMap quantities = new IntIntMap();
+		final Activity[] selections = new Activity[ITEM_COUNT];
+		final BitSet ignored = new BitSet(ITEM_COUNT);
+		final Map<Skill, Integer> levels = new EnumMap<>(Skill.class);
+		final Map<Skill, Integer> experience = new EnumMap<>(Skill.class);
+		for (final Skill skill : Activity.BANKABLE_SKILLS)
+		{
+			final Collection<ExperienceItem> items = ExperienceItem.getBySkill(skill);
+			for (final ExperienceItem item : items)
+			{
+				for (final int id : item.getItemIds())
+				{
+					quantities.put(id, random.nextInt(3) == 0 ? 0 : random.nextInt(5000));
+				}
+			}
+
+			final Activity[] selected = CascadeGraphTest.randomSelections(random, items);
+			for (final ExperienceItem item : items)
+			{
+				selections[item.ordinal()] = selected[item.ordinal()];
+			}
+			ignored.or(CascadeGraphTest.randomIgnored(random, items));
+
+			final int level = 1 + random.nextInt(99);
+			levels.put(skill, level);
+			experience.put(skill, Experience.getXpForLevel(level));
+		}
+
+		final double[] xpRates = BankedXpEngine.resolveXpRates(Collections.emptyList());
+		return new BankedXpInput(quantities, selections, ignored, xpRates, levels, experience, BOOST, XP_MULTIPLIER,
+			limitToCurrentLevel, cascade);
+	}
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2026, TheStonedTurtle <https://github.com/TheStonedTurtle>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package thestonedturtle.bankedexperience.engine;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import net.runelite.api.Skill;
+import thestonedturtle.bankedexperience.data.Activity;
+import thestonedturtle.bankedexperience.data.ExperienceItem;
+
+/**
+ * The calculation done by the calculator panel before {@link BankedXpEngine} existed, kept as close to the original
+ * as possible so the engine can be checked against it. Only supports calculating without modifiers.
+ */
+final class BaselineCalculator
+{
+	private static final int ITEM_COUNT = ExperienceItem.values().length;
+
+	// indexed by ExperienceItem ordinal
+	final Activity[] selected = new Activity[ITEM_COUNT];
+	final int[] bankQtys = new int[ITEM_COUNT];
+	final int[] qtys = new int[ITEM_COUNT];
+	double totalXp;
+
+	private final Collection<ExperienceItem> items;
+	private final BitSet ignored;
+
+	private BaselineCalculator(final Collection<ExperienceItem> items, final BitSet ignored)
+	{
+		this.items = items;
+		this.ignored = ignored;
+	}
+
+	static BaselineCalculator calculate(final BankedXpInput input, final Skill skill)
+	{
+		final BitSet ignored = new BitSet(ITEM_COUNT);
+		for (int i = 0; i < ITEM_COUNT; i++)
+		{
+			if (input.isIgnored(i))
+			{
+				ignored.set(i);
+			}
+		}
+
+		final BaselineCalculator calc = new BaselineCalculator(ExperienceItem.getBySkill(skill), ignored);
+		final int level = input.getLevels().getOrDefault(skill, 1) + input.getBoost();
+		for (final ExperienceItem item : calc.items)
+		{
+			int qty = 0;
+			for (int i = 0; i < item.getItemIds().length; i++)
+			{
+				final int multiplier = item.isByDose() ? i + 1 : 1;
+				qty += input.getQty(item.getItemIds()[i]) * multiplier;
+			}
+			calc.bankQtys[item.ordinal()] = qty;
+
+			Activity a = input.getSelection(item.ordinal());
+			if (a == null || (input.isLimitToCurrentLevel() && level < a.getLevel()))
+			{
+				final List<Activity> activities = Activity.getByExperienceItem(item, input.isLimitToCurrentLevel() ? level : -1);
+				a = activities.isEmpty() ? null : activities.get(0);
+			}
+			calc.selected[item.ordinal()] = a;
+		}
+
+		for (final ExperienceItem item : calc.items)
+		{
+			int qty = calc.bankQtys[item.ordinal()];
+			if (input.isCascade())
+			{
+				qty += calc.cascade(item);
+			}
+			calc.qtys[item.ordinal()] = qty;
+
+			final Activity a = calc.selected[item.ordinal()];
+			if (a != null && !calc.ignored.get(item.ordinal()))
+			{
+				calc.totalXp += qty * a.getXpRate(Collections.emptyList()) * input.getXpMultiplier();
+			}
+		}
+
+		return calc;
+	}
+
+	/**
+	 * @param selected the activity of every item indexed by ordinal, may not output the items in a cycle
+	 * @return the quantity of this item produced by the items that cascade into it
+	 */
+	static int cascade(final ExperienceItem item, final Collection<ExperienceItem> items, final Activity[] selected,
+		final int[] bankQtys, final BitSet ignored)
+	{
+		final BaselineCalculator calc = new BaselineCalculator(items, ignored);
+		System.arraycopy(selected, 0, calc.selected, 0, ITEM_COUNT);
+		System.arraycopy(bankQtys, 0, calc.bankQtys, 0, ITEM_COUNT);
+		return calc.cascade(item);
+	}
+
+	private int cascade(final ExperienceItem item)
+	{
+		return getConsolidatedTotal(createLinksMap(item), item);
+	}
+
+	private Map<ExperienceItem, Integer> createLinksMap(final ExperienceItem item)
+	{
+		final Map<ExperienceItem, Integer> qtyMap = new HashMap<>();
+		if (selected[item.ordinal()] == null)
+		{
+			return qtyMap;
+		}
+
+		for (final ExperienceItem linked : items)
+		{
+			final Activity a = selected[linked.ordinal()];
+			if (a == null || a.getLinkedItem() != item || ignored.get(linked.ordinal()))
+			{
+				continue;
+			}
+
+			final int qty = bankQtys[linked.ordinal()];
+			if (qty > 0)
+			{
+				qtyMap.put(linked, qty);
+			}
+			qtyMap.putAll(createLinksMap(linked));
+		}
+
+		return qtyMap;
+	}
+
+	private int getConsolidatedTotal(final Map<ExperienceItem, Integer> original, final ExperienceItem goalItem)
+	{
+		final Map<ExperienceItem, Integer> linked = new HashMap<>(original);
+
+		double runningCascadeTotal = 0;
+		for (final ExperienceItem experienceItem : original.keySet())
+		{
+			double subTotal = 0;
+			ExperienceItem linkedItem = experienceItem;
+			while (linkedItem != null && !linkedItem.equals(goalItem))
+			{
+				final Activity linkedActivity = selected[linkedItem.ordinal()];
+				subTotal = (subTotal + linked.getOrDefault(linkedItem, 0)) * outputQty(linkedActivity);
+				linked.remove(linkedItem);
+
+				linkedItem = linkedActivity.getLinkedItem();
+			}
+
+			if (linkedItem != null)
+			{
+				subTotal += linked.getOrDefault(linkedItem, 0) * outputQty(selected[linkedItem.ordinal()]);
+				linked.remove(linkedItem);
+			}
+
+			runningCascadeTotal += subTotal;
+		}
+
+		return (int) runningCascadeTotal;
+	}
+
+	private static double outputQty(final Activity activity)
+	{
+		return activity.getOutput() == null ? 1 : activity.getOutput().getQty();
+	}
+}
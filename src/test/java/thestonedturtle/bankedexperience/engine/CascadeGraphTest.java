@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2026, TheStonedTurtle <https://github.com/TheStonedTurtle>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package thestonedturtle.bankedexperience.engine;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import net.runelite.api.Skill;
+import org.junit.Test;
+import thestonedturtle.bankedexperience.data.Activity;
+import thestonedturtle.bankedexperience.data.ExperienceItem;
+import static org.junit.Assert.assertEquals;
+
+public class CascadeGraphTest
+{
+	private static final int ITEM_COUNT = ExperienceItem.values().length;
+	private static final int ROUNDS = 25;
+
+	@Test
+	public void testDefaultSelectionsMatchBaseline()
+	{
+		final Random random = new Random(0);
+		for (final Skill skill : Activity.BANKABLE_SKILLS)
+		{
+			final Collection<ExperienceItem> items = ExperienceItem.getBySkill(skill);
+			final Activity[] selected = new Activity[ITEM_COUNT];
+			for (final ExperienceItem item : items)
+			{
+				final List<Activity> activities = Activity.getByExperienceItem(item);
+				selected[item.ordinal()] = activities.isEmpty() ? null : activities.get(0);
+			}
+
+			for (int round = 0; round < ROUNDS; round++)
+			{
+				assertMatchesBaseline(items, selected, randomQtys(random, items), randomIgnored(random, items));
+			}
+		}
+	}
+
+	@Test
+	public void testRandomSelectionsMatchBaseline()
+	{
+		final Random random = new Random(0);
+		for (final Skill skill : Activity.BANKABLE_SKILLS)
+		{
+			final Collection<ExperienceItem> items = ExperienceItem.getBySkill(skill);
+			for (int round = 0; round < ROUNDS; round++)
+			{
+				final Activity[] selected = randomSelections(random, items);
+				assertMatchesBaseline(items, selected, randomQtys(random, items), randomIgnored(random, items));
+			}
+		}
+	}
+
+	private static void assertMatchesBaseline(final Collection<ExperienceItem> items, final Activity[] selected,
+		final int[] qtys, final BitSet ignored)
+	{
+		final double[] cascaded = new double[ITEM_COUNT];
+		CascadeGraph.build(items, item -> selected[item.ordinal()]).compute(qtys, ignored::get, cascaded);
+		for (final ExperienceItem item : items)
+		{
+			final int expected = BaselineCalculator.cascade(item, items, selected, qtys, ignored);
+			assertEquals(item.name(), expected, (int) cascaded[item.ordinal()]);
+		}
+	}
+
+	/**
+	 * Picks a random activity for every item, the baseline never finishes if the selections output each other in a cycle
+	 * so activities that would close one are left unselected.
+	 */
+	static Activity[] randomSelections(final Random random, final Collection<ExperienceItem> items)
+	{
+		final Activity[] selected = new Activity[ITEM_COUNT];
+		for (final ExperienceItem item : items)
+		{
+			final List<Activity> activities = Activity.getByExperienceItem(item);
+			if (activities.isEmpty() || random.nextInt(10) == 0)
+			{
+				continue;
+			}
+
+			selected[item.ordinal()] = activities.get(random.nextInt(activities.size()));
+			if (outputsInto(item, item, selected))
+			{
+				selected[item.ordinal()] = null;
+			}
+		}
+		return selected;
+	}
+
+	static int[] randomQtys(final Random random, final Collection<ExperienceItem> items)
+	{
+		final int[] qtys = new int[ITEM_COUNT];
+		for (final ExperienceItem item : items)
+		{
+			qtys[item.ordinal()] = random.nextInt(3) == 0 ? 0 : random.nextInt(5000);
+		}
+		return qtys;
+	}
+
+	static BitSet randomIgnored(final Random random, final Collection<ExperienceItem> items)
+	{
+		final BitSet ignored = new BitSet(ITEM_COUNT);
+		for (final ExperienceItem item : items)
+		{
+			if (random.nextInt(8) == 0)
+			{
+				ignored.set(item.ordinal());
+			}
+		}
+		return ignored;
+	}
+
+	/**
+	 * @return whether the selected activity of the source outputs the target, directly or through other items
+	 */
+	private static boolean outputsInto(final ExperienceItem source, final ExperienceItem target,
+		final Activity[] selected)
+	{
+		ExperienceItem item = source;
+		for (int steps = 0; steps < ITEM_COUNT && selected[item.ordinal()] != null; steps++)
+		{
+			item = selected[item.ordinal()].getLinkedItem();
+			if (item == null)
+			{
+				return false;
+			}
+			if (item == target)
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2026, TheStonedTurtle <https://github.com/TheStonedTurtle>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package thestonedturtle.bankedexperience.persistence;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import thestonedturtle.bankedexperience.util.IntIntMap;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+public class BankSnapshotsTest
+{
+	private static final long ACCOUNT = 1234;
+	private static final int BANK = 95;
+	private static final int INVENTORY = 93;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testRoundTrip() throws IOException
+	{
+		final BankSnapshots.Snapshot snapshot = createSnapshot();
+		final BankSnapshots.Snapshot decoded = BankSnapshots.decode(ByteBuffer.wrap(BankSnapshots.encode(snapshot)));
+
+		assertEquals(snapshot.getGeneration(), decoded.getGeneration());
+		assertEquals(toMap(snapshot.getSources()), toMap(decoded.getSources()));
+	}
+
+	@Test
+	public void testEmptyRoundTrip() throws IOException
+	{
+		final BankSnapshots.Snapshot snapshot = new BankSnapshots.Snapshot(0, new HashMap<>());
+		final BankSnapshots.Snapshot decoded = BankSnapshots.decode(ByteBuffer.wrap(BankSnapshots.encode(snapshot)));
+
+		assertEquals(0, decoded.getGeneration());
+		assertTrue(decoded.getSources().isEmpty());
+	}
+
+	@Test
+	public void testCorruptedSnapshotIsRejected()
+	{
+		final byte[] bytes = BankSnapshots.encode(createSnapshot());
+		for (int i = 0; i < bytes.length; i++)
+		{
+			final byte[] corrupted = bytes.clone();
+			corrupted[i] ^= 1;
+			assertThrows(IOException.class, () -> BankSnapshots.decode(ByteBuffer.wrap(corrupted)));
+		}
+	}
+
+	@Test
+	public void testTruncatedSnapshotIsRejected()
+	{
+		final byte[] bytes = BankSnapshots.encode(createSnapshot());
+		for (int length = 0; length < bytes.length; length++)
+		{
+			final ByteBuffer truncated = ByteBuffer.wrap(bytes, 0, length);
+			assertThrows(IOException.class, () -> BankSnapshots.decode(truncated));
+		}
+	}
+
+	@Test
+	public void testWrittenSnapshotIsRead() throws IOException
+	{
+		final BankSnapshots snapshots = new BankSnapshots(folder.getRoot().toPath().resolve("banks"));
+		assertNull(snapshots.read(ACCOUNT));
+
+		final BankSnapshots.Snapshot snapshot = createSnapshot();
+		assertTrue(snapshots.write(ACCOUNT, snapshot));
+		final BankSnapshots.Snapshot read = snapshots.read(ACCOUNT);
+		assertEquals(snapshot.getGeneration(), read.getGeneration());
+		assertEquals(toMap(snapshot.getSources()), toMap(read.getSources()));
+
+		// A damaged file is treated the same as a missing one
+		final byte[] bytes = Files.readAllBytes(snapshots.getPath(ACCOUNT));
+		bytes[bytes.length / 2] ^= 1;
+		Files.write(snapshots.getPath(ACCOUNT), bytes);
+		assertNull(snapshots.read(ACCOUNT));
+	}
+
+	private static BankSnapshots.Snapshot createSnapshot()
+	{
+		final Map<Integer, IntIntMap> sources = new HashMap<>();
+		final IntIntMap bank = new IntIntMap();
+		bank.put(995, Integer.MAX_VALUE);
+		bank.put(0, 1);
+		bank.put(560, 5000);
+		bank.put(30_000, 1);
+		sources.put(BANK, bank);
+
+		final IntIntMap inventory = new IntIntMap();
+		inventory.put(995, -20);
+		inventory.put(560, Integer.MIN_VALUE);
+		sources.put(INVENTORY, inventory);
+
+		sources.put(-1, new IntIntMap());
+		return new BankSnapshots.Snapshot(Long.MAX_VALUE - 1, sources);
+	}
+
+	private static Map<Integer, Map<Integer, Integer>> toMap(final Map<Integer, IntIntMap> sources)
+	{
+		final Map<Integer, Map<Integer, Integer>> map = new HashMap<>();
+		sources.forEach((sourceId, items) ->
+		{
+			final Map<Integer, Integer> copy = new HashMap<>();
+			items.forEach(copy::put);
+			map.put(sourceId, copy);
+		});
+		return map;
+	}
+}
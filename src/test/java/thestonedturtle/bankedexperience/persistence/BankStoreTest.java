@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2026, TheStonedTurtle <https://github.com/TheStonedTurtle>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package thestonedturtle.bankedexperience.persistence;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import thestonedturtle.bankedexperience.util.IntIntMap;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class BankStoreTest
+{
+	private static final Logger log = LoggerFactory.getLogger(BankStoreTest.class);
+
+	private static final long ACCOUNT = 1234;
+	private static final int BANK = 95;
+	private static final int INVENTORY = 93;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testUnknownAccount()
+	{
+		final BankStore store = new BankStore(folder.getRoot().toPath(), 100);
+		assertNull(store.load(ACCOUNT));
+		store.close();
+	}
+
+	@Test
+	public void testJournalIsReplayed()
+	{
+		final Path directory = folder.getRoot().toPath();
+		final BankStore store = new BankStore(directory, 100);
+		store.load(ACCOUNT);
+		final Map<Integer, Map<Integer, Integer>> expected = new HashMap<>();
+		append(store, expected, BANK, 995, 100);
+		append(store, expected, BANK, 560, 5);
+		append(store, expected, INVENTORY, 995, 20);
+		append(store, expected, BANK, 560, -5);
+		// The client stopped without closing the store, so nothing was folded into a snapshot
+		assertEquals(expected, toMap(new BankStore(directory, 100).load(ACCOUNT)));
+	}
+
+	@Test
+	public void testRemovedSourceIsReplayed()
+	{
+		final Path directory = folder.getRoot().toPath();
+		final BankStore store = new BankStore(directory, 100);
+		store.load(ACCOUNT);
+		final Map<Integer, Map<Integer, Integer>> expected = new HashMap<>();
+		append(store, expected, BANK, 995, 100);
+		append(store, expected, INVENTORY, 995, 20);
+
+		final JournalFrame frame = new JournalFrame();
+		frame.removeSource(INVENTORY);
+		store.append(ACCOUNT, frame);
+		expected.remove(INVENTORY);
+
+		assertEquals(expected, toMap(new BankStore(directory, 100).load(ACCOUNT)));
+	}
+
+	@Test
+	public void testTornFrameIsCutOff() throws IOException
+	{
+		final Path directory = folder.getRoot().toPath();
+		final BankStore store = new BankStore(directory, 100);
+		store.load(ACCOUNT);
+		final Map<Integer, Map<Integer, Integer>> expected = new HashMap<>();
+		append(store, expected, BANK, 995, 100);
+		append(store, expected, BANK, 560, 5);
+
+		// The client stopped halfway through writing a frame
+		final Path journal = directory.resolve(ACCOUNT + ".journal");
+		final long validSize = Files.size(journal);
+		final JournalFrame torn = new JournalFrame();
+		torn.add(BANK, 554, 1000);
+		final byte[] bytes = torn.toBytes();
+		Files.write(journal, Arrays.copyOf(bytes, bytes.length - 2), StandardOpenOption.APPEND);
+
+		final BankStore reloaded = new BankStore(directory, 100);
+		assertEquals(expected, toMap(reloaded.load(ACCOUNT)));
+		assertEquals(validSize, Files.size(journal));
+
+		// New frames are appended right after the last valid frame
+		append(reloaded, expected, BANK, 554, 7);
+		assertEquals(expected, toMap(new BankStore(directory, 100).load(ACCOUNT)));
+	}
+
+	@Test
+	public void testJournalOfOlderGenerationIsNotReplayed() throws IOException
+	{
+		final Path directory = folder.getRoot().toPath();
+		final Path journal = directory.resolve(ACCOUNT + ".journal");
+		final Path staleJournal = directory.resolve("stale.journal");
+		final BankStore store = new BankStore(directory, 100);
+		store.load(ACCOUNT);
+		final Map<Integer, Map<Integer, Integer>> expected = new HashMap<>();
+		append(store, expected, BANK, 995, 100);
+		append(store, expected, BANK, 560, 5);
+
+		// The client stopped after writing the new snapshot but before the journal was reset
+		Files.copy(journal, staleJournal);
+		store.compact();
+		Files.copy(staleJournal, journal, StandardCopyOption.REPLACE_EXISTING);
+
+		assertEquals(expected, toMap(new BankStore(directory, 100).load(ACCOUNT)));
+	}
+
+	@Test
+	public void testCompactionKeepsEverySource()
+	{
+		final Path directory = folder.getRoot().toPath();
+		// Compacts after every second record
+		final BankStore store = new BankStore(directory, 2);
+		store.load(ACCOUNT);
+		final Map<Integer, Map<Integer, Integer>> expected = new HashMap<>();
+		for (int i = 0; i < 25; i++)
+		{
+			append(store, expected, i % 2 == 0 ? BANK : INVENTORY, 1000 + i % 7, i + 1);
+		}
+		store.close();
+
+		assertEquals(expected, toMap(new BankStore(directory, 2).load(ACCOUNT)));
+	}
+
+	/**
+	 * Loads a snapshot of 1,500 items plus a journal of a bit more than 10,000 records, the most a journal grows to
+	 * with the compaction threshold the plugin uses
+	 */
+	@Test
+	public void benchmarkLoad()
+	{
+		final Path directory = folder.getRoot().toPath();
+		final Random random = new Random(0);
+		final Map<Integer, Map<Integer, Integer>> expected = new HashMap<>();
+		final BankStore store = new BankStore(directory, Integer.MAX_VALUE);
+		store.load(ACCOUNT);
+		final JournalFrame items = new JournalFrame();
+		for (int i = 0; i < 1_500; i++)
+		{
+			add(items, expected, BANK, i * 3, 1 + random.nextInt(10_000));
+		}
+		store.append(ACCOUNT, items);
+		store.compact();
+
+		int records = 0;
+		while (records < 10_000)
+		{
+			final JournalFrame frame = new JournalFrame();
+			for (int i = 0; i < 7; i++)
+			{
+				add(frame, expected, random.nextBoolean() ? BANK : INVENTORY, random.nextInt(1_500) * 3,
+					random.nextInt(21) - 10);
+			}
+			store.append(ACCOUNT, frame);
+			records += frame.size();
+		}
+
+		for (int run = 0; run < 20; run++)
+		{
+			final long start = System.nanoTime();
+			final Map<Integer, IntIntMap> loaded = new BankStore(directory, Integer.MAX_VALUE).load(ACCOUNT);
+			final long micros = (System.nanoTime() - start) / 1000;
+			if (run == 0 || run == 19)
+			{
+				log.info("Loaded 1,500 items and replayed {} journal records in {}us ({})", records, micros,
+					run == 0 ? "cold" : "warm");
+			}
+			assertEquals(expected, toMap(loaded));
+		}
+	}
+
+	private static void append(final BankStore store, final Map<Integer, Map<Integer, Integer>> expected,
+		final int sourceId, final int itemId, final int qty)
+	{
+		final JournalFrame frame = new JournalFrame();
+		add(frame, expected, sourceId, itemId, qty);
+		store.append(ACCOUNT, frame);
+	}
+
+	private static void add(final JournalFrame frame, final Map<Integer, Map<Integer, Integer>> expected,
+		final int sourceId, final int itemId, final int qty)
+	{
+		frame.add(sourceId, itemId, qty);
+		final Map<Integer, Integer> items = expected.computeIfAbsent(sourceId, k -> new HashMap<>());
+		if (items.merge(itemId, qty, Integer::sum) == 0)
+		{
+			items.remove(itemId);
+		}
+	}
+
+	private static Map<Integer, Map<Integer, Integer>> toMap(final Map<Integer, IntIntMap> sources)
+	{
+		final Map<Integer, Map<Integer, Integer>> map = new HashMap<>();
+		if (sources != null)
+		{
+			sources.forEach((sourceId, items) ->
+			{
+				final Map<Integer, Integer> copy = new HashMap<>();
+				items.forEach(copy::put);
+				map.put(sourceId, copy);
+			});
+		}
+		return map;
+	}
+}
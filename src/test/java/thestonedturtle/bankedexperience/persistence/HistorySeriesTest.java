@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2026, TheStonedTurtle <https://github.com/TheStonedTurtle>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package thestonedturtle.bankedexperience.persistence;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class HistorySeriesTest
+{
+	private static final long MINUTE = TimeUnit.MINUTES.toMillis(1);
+	private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+	private static final long DAY = TimeUnit.DAYS.toMillis(1);
+	// midnight of the first of January 2026
+	private static final long START = 1_767_225_600_000L;
+
+	@Test
+	public void testPointsOfAMinuteAreMerged()
+	{
+		final HistorySeries series = new HistorySeries();
+		assertTrue(series.add(START + 5_000, 100, 1));
+		assertTrue(series.add(START + 30_000, 200, 2));
+		assertTrue(series.add(START + MINUTE, 300, 3));
+
+		final HistoryPoints points = series.query(Long.MIN_VALUE, Long.MAX_VALUE);
+		assertArrayEquals(new long[]{START, START + MINUTE}, points.getTimes());
+		assertArrayEquals(new long[]{200, 300}, points.getXp());
+		assertArrayEquals(new int[]{2, 3}, points.getItems());
+	}
+
+	@Test
+	public void testOlderAndUnchangedPointsAreRejected()
+	{
+		final HistorySeries series = new HistorySeries();
+		assertTrue(series.add(START + MINUTE, 100, 1));
+		assertFalse(series.add(START, 200, 2));
+		assertFalse(series.add(START + 2 * MINUTE, 100, 1));
+		assertEquals(1, series.query(Long.MIN_VALUE, Long.MAX_VALUE).size());
+	}
+
+	@Test
+	public void testMinutesRollUpIntoHours()
+	{
+		final HistorySeries series = new HistorySeries();
+		final int minutes = 3 * 24 * 60;
+		for (int i = 0; i < minutes; i++)
+		{
+			assertTrue(series.add(START + i * MINUTE, i + 1, i));
+		}
+
+		// The minute tier holds the last 2 days, both ends included
+		final long last = START + (minutes - 1) * MINUTE;
+		final HistoryTier minuteTier = series.tiers[0];
+		assertEquals(2 * 24 * 60 + 1, minuteTier.size());
+		assertEquals(last - 2 * DAY, minuteTier.getTime(0));
+		assertEquals(last, minuteTier.getTime(minuteTier.size() - 1));
+
+		// Every hour keeps the last of its minutes that left the minute tier
+		final int rolledUp = minutes - minuteTier.size();
+		final HistoryTier hourTier = series.tiers[1];
+		assertEquals((rolledUp + 59) / 60, hourTier.size());
+		for (int h = 0; h < hourTier.size(); h++)
+		{
+			final int lastMinute = Math.min((h + 1) * 60, rolledUp) - 1;
+			assertEquals(START + h * HOUR, hourTier.getTime(h));
+			assertEquals(lastMinute + 1, hourTier.getXp(h));
+			assertEquals(lastMinute, hourTier.getItems(h));
+		}
+		assertEquals(0, series.tiers[2].size());
+	}
+
+	@Test
+	public void testExpiredPointsMoveToTheNextTier()
+	{
+		final HistorySeries series = new HistorySeries();
+		series.add(START + 10 * MINUTE, 1, 1);
+		series.add(START + 3 * DAY, 2, 2);
+		assertTimes(series, START, START + 3 * DAY);
+		assertEquals(1, series.tiers[1].size());
+
+		series.add(START + 100 * DAY, 3, 3);
+		assertTimes(series, START, START + 3 * DAY, START + 100 * DAY);
+		assertEquals(2, series.tiers[1].size());
+
+		// A tier only checks the retention against the points moved into it
+		series.add(START + 1200 * DAY, 4, 4);
+		assertTimes(series, START, START + 3 * DAY, START + 100 * DAY, START + 1200 * DAY);
+		assertEquals(2, series.tiers[2].size());
+
+		series.add(START + 1300 * DAY, 5, 5);
+		assertEquals(3, series.tiers[2].size());
+
+		// The daily tier forgets points once they are older than its retention
+		series.add(START + 1400 * DAY, 6, 6);
+		assertTimes(series, START + 1200 * DAY, START + 1300 * DAY, START + 1400 * DAY);
+		assertArrayEquals(new long[]{4, 5, 6}, series.query(Long.MIN_VALUE, Long.MAX_VALUE).getXp());
+	}
+
+	@Test
+	public void testQueryAcrossTiers()
+	{
+		final HistorySeries series = new HistorySeries();
+		final int minutes = 5 * 24 * 60;
+		for (int i = 0; i < minutes; i += 7)
+		{
+			series.add(START + i * MINUTE, i + 1, i);
+		}
+
+		final HistoryPoints all = series.query(Long.MIN_VALUE, Long.MAX_VALUE);
+		int total = 0;
+		for (final HistoryTier tier : series.tiers)
+		{
+			total += tier.size();
+		}
+		assertEquals(total, all.size());
+		for (int i = 1; i < all.size(); i++)
+		{
+			assertTrue(all.getTimes()[i - 1] < all.getTimes()[i]);
+		}
+
+		// Starts inside the hourly points and ends inside the minute points, both ends included
+		final long from = START + DAY + 30 * MINUTE;
+		final long to = all.getTimes()[all.size() - 10];
+		final HistoryPoints range = series.query(from, to);
+		int index = 0;
+		for (int i = 0; i < all.size(); i++)
+		{
+			if (all.getTimes()[i] < from || all.getTimes()[i] > to)
+			{
+				continue;
+			}
+
+			assertEquals(all.getTimes()[i], range.getTimes()[index]);
+			assertEquals(all.getXp()[i], range.getXp()[index]);
+			assertEquals(all.getItems()[i], range.getItems()[index]);
+			index++;
+		}
+		assertEquals(index, range.size());
+		assertTrue(series.tiers[1].size() > 0 && range.getTimes()[0] < series.tiers[0].getTime(0));
+		assertEquals(to, range.getTimes()[range.size() - 1]);
+
+		assertEquals(0, series.query(to + 1, to + 2).size());
+		assertEquals(0, series.query(to, from).size());
+	}
+
+	private static void assertTimes(final HistorySeries series, final long... times)
+	{
+		assertArrayEquals(times, series.query(Long.MIN_VALUE, Long.MAX_VALUE).getTimes());
+	}
+}
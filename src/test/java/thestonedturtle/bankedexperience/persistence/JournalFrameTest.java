@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2026, TheStonedTurtle <https://github.com/TheStonedTurtle>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package thestonedturtle.bankedexperience.persistence;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Test;
+import thestonedturtle.bankedexperience.util.IntIntMap;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class JournalFrameTest
+{
+	@Test
+	public void testRoundTrip()
+	{
+		final JournalFrame first = new JournalFrame();
+		first.add(95, 995, 100);
+		first.add(95, 0, 3);
+		first.add(-1, 560, -5);
+		final JournalFrame second = new JournalFrame();
+		second.removeSource(93);
+		second.add(95, 995, -100);
+		second.add(95, 30_000, Integer.MAX_VALUE);
+		second.add(93, 560, 1);
+		final byte[] firstBytes = first.toBytes();
+		final byte[] secondBytes = second.toBytes();
+
+		final ByteBuffer in = ByteBuffer.allocate(firstBytes.length + secondBytes.length);
+		in.put(firstBytes).put(secondBytes).flip();
+
+		final Map<Integer, IntIntMap> sources = new HashMap<>();
+		sources.put(93, new IntIntMap());
+		sources.get(93).put(995, 20);
+		assertEquals(3, JournalFrame.applyNext(in, sources));
+		assertEquals(4, JournalFrame.applyNext(in, sources));
+		assertFalse(in.hasRemaining());
+		assertEquals(-1, JournalFrame.applyNext(in, sources));
+
+		final Map<Integer, IntIntMap> applied = new HashMap<>();
+		applied.put(93, new IntIntMap());
+		applied.get(93).put(995, 20);
+		first.apply(applied);
+		second.apply(applied);
+
+		for (final Map<Integer, IntIntMap> result : Arrays.asList(sources, applied))
+		{
+			assertEquals(3, result.size());
+			assertEquals(2, result.get(95).size());
+			assertFalse(result.get(95).containsKey(995));
+			assertEquals(3, result.get(95).get(0));
+			assertEquals(Integer.MAX_VALUE, result.get(95).get(30_000));
+			assertEquals(1, result.get(-1).size());
+			assertEquals(-5, result.get(-1).get(560));
+			assertEquals(1, result.get(93).size());
+			assertEquals(1, result.get(93).get(560));
+		}
+	}
+
+	@Test
+	public void testCorruptedFrameIsRejected()
+	{
+		final JournalFrame frame = new JournalFrame();
+		frame.add(95, 995, 100);
+		frame.add(95, 560, -5);
+		final byte[] bytes = frame.toBytes().clone();
+		// Flip a bit of the last record, the length stays valid so only the checksum catches it
+		bytes[bytes.length - 5] ^= 1;
+
+		final Map<Integer, IntIntMap> sources = new HashMap<>();
+		final ByteBuffer in = ByteBuffer.wrap(bytes);
+		assertEquals(-1, JournalFrame.applyNext(in, sources));
+		assertEquals(0, in.position());
+		assertTrue(sources.isEmpty());
+	}
+
+	@Test
+	public void testCorruptedChecksumIsRejected()
+	{
+		final JournalFrame frame = new JournalFrame();
+		frame.add(95, 995, 100);
+		final byte[] bytes = frame.toBytes().clone();
+		bytes[bytes.length - 1] ^= 1;
+
+		final Map<Integer, IntIntMap> sources = new HashMap<>();
+		assertEquals(-1, JournalFrame.applyNext(ByteBuffer.wrap(bytes), sources));
+		assertTrue(sources.isEmpty());
+	}
+
+	@Test
+	public void testIncompleteFrameIsRejected()
+	{
+		final JournalFrame frame = new JournalFrame();
+		frame.add(95, 995, 100);
+		frame.add(93, 995, 1);
+		final byte[] bytes = frame.toBytes();
+
+		final Map<Integer, IntIntMap> sources = new HashMap<>();
+		for (int length = 0; length < bytes.length; length++)
+		{
+			final ByteBuffer in = ByteBuffer.wrap(bytes, 0, length);
+			assertEquals(-1, JournalFrame.applyNext(in, sources));
+			assertEquals(0, in.position());
+		}
+		assertTrue(sources.isEmpty());
+	}
+
+	@Test
+	public void testFrameAfterCorruptedFrameIsNotApplied()
+	{
+		final JournalFrame first = new JournalFrame();
+		first.add(95, 995, 100);
+		final JournalFrame second = new JournalFrame();
+		second.add(95, 995, 50);
+		final byte[] firstBytes = first.toBytes();
+		final byte[] secondBytes = second.toBytes();
+
+		final ByteBuffer in = ByteBuffer.allocate(firstBytes.length + secondBytes.length);
+		in.put(firstBytes).put(secondBytes).flip();
+		in.put(firstBytes.length - 1, (byte) (in.get(firstBytes.length - 1) ^ 1));
+
+		final Map<Integer, IntIntMap> sources = new HashMap<>();
+		assertEquals(-1, JournalFrame.applyNext(in, sources));
+		assertTrue(sources.isEmpty());
+	}
+}
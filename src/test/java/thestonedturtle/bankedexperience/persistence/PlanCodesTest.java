@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2026, TheStonedTurtle <https://github.com/TheStonedTurtle>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package thestonedturtle.bankedexperience.persistence;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Random;
+import org.junit.Test;
+import thestonedturtle.bankedexperience.data.Profile;
+import thestonedturtle.bankedexperience.util.IntIntMap;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+
+public class PlanCodesTest
+{
+	@Test
+	public void testRoundTrip() throws IOException
+	{
+		final Profile profile = ProfileStoreTest.createProfile(new Random(0), "Shared");
+		final PlanCodes.Plan plan = PlanCodes.decode(PlanCodes.encode(profile, null), "Shared");
+
+		ProfileStoreTest.assertProfileEquals(profile, plan.getProfile());
+		assertNull(plan.getQuantities());
+	}
+
+	@Test
+	public void testRoundTripWithQuantities() throws IOException
+	{
+		final Profile profile = ProfileStoreTest.createProfile(new Random(0), "Shared");
+		final IntIntMap quantities = new IntIntMap();
+		quantities.put(0, 1);
+		quantities.put(995, Integer.MAX_VALUE);
+		quantities.put(560, -5);
+		quantities.put(30_000, Integer.MIN_VALUE);
+
+		final PlanCodes.Plan plan = PlanCodes.decode(PlanCodes.encode(profile, quantities), "Imported");
+
+		assertEquals("Imported", plan.getProfile().getName());
+		assertEquals(quantities.size(), plan.getQuantities().size());
+		quantities.forEach((id, qty) -> assertEquals(qty, plan.getQuantities().get(id)));
+	}
+
+	@Test
+	public void testEmptyProfileRoundTrip() throws IOException
+	{
+		final Profile profile = new Profile(Profile.DEFAULT_NAME);
+		final PlanCodes.Plan plan = PlanCodes.decode(PlanCodes.encode(profile, new IntIntMap()), Profile.DEFAULT_NAME);
+
+		ProfileStoreTest.assertProfileEquals(profile, plan.getProfile());
+		assertEquals(0, plan.getQuantities().size());
+	}
+
+	@Test
+	public void testInvalidCodeIsRejected()
+	{
+		assertThrows(IOException.class, () -> PlanCodes.decode("not a plan code!", "Invalid"));
+		assertThrows(IOException.class, () -> PlanCodes.decode("", "Invalid"));
+	}
+
+	@Test
+	public void testTruncatedCodeIsRejected()
+	{
+		final IntIntMap quantities = new IntIntMap();
+		quantities.put(995, 100);
+		final byte[] bytes = decode(PlanCodes.encode(ProfileStoreTest.createProfile(new Random(0), "Shared"), quantities));
+		for (int length = 0; length < bytes.length; length++)
+		{
+			final String code = encode(Arrays.copyOf(bytes, length));
+			assertThrows(IOException.class, () -> PlanCodes.decode(code, "Truncated"));
+		}
+	}
+
+	@Test
+	public void testOtherPluginVersionIsRejected()
+	{
+		final byte[] bytes = decode(PlanCodes.encode(new Profile(Profile.DEFAULT_NAME), null));
+		// Version byte followed by the checksum of the activities, items and skills
+		for (int i = 0; i < 5; i++)
+		{
+			final byte[] changed = bytes.clone();
+			changed[i] ^= 1;
+			final String code = encode(changed);
+			assertThrows(IOException.class, () -> PlanCodes.decode(code, "Other"));
+		}
+	}
+
+	private static byte[] decode(final String code)
+	{
+		return Base64.getUrlDecoder().decode(code);
+	}
+
+	private static String encode(final byte[] bytes)
+	{
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+	}
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2026, TheStonedTurtle <https://github.com/TheStonedTurtle>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package thestonedturtle.bankedexperience.persistence;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Random;
+import net.runelite.api.Skill;
+import org.junit.Test;
+import thestonedturtle.bankedexperience.data.Activity;
+import thestonedturtle.bankedexperience.data.ExperienceItem;
+import thestonedturtle.bankedexperience.data.Profile;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+public class ProfileStoreTest
+{
+	@Test
+	public void testRoundTrip() throws IOException
+	{
+		final Random random = new Random(0);
+		final List<Profile> profiles = Arrays.asList(
+			createProfile(random, "Ironman"),
+			new Profile(Profile.DEFAULT_NAME),
+			createProfile(random, "Sp\u00e4ter \uD83D\uDC22"));
+
+		final List<Profile> decoded = new ArrayList<>();
+		ProfileStore.decode(ProfileStore.encode(profiles), decoded);
+
+		assertEquals(profiles.size(), decoded.size());
+		for (int i = 0; i < profiles.size(); i++)
+		{
+			assertProfileEquals(profiles.get(i), decoded.get(i));
+		}
+	}
+
+	@Test
+	public void testOtherVersionIsRejected() throws IOException
+	{
+		final byte[] bytes = Base64.getUrlDecoder().decode(ProfileStore.encode(Arrays.asList(new Profile("Test"))));
+		bytes[0]++;
+		final String value = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+		assertThrows(IOException.class, () -> ProfileStore.decode(value, new ArrayList<>()));
+	}
+
+	@Test
+	public void testRemovedEntriesAreSkipped() throws IOException
+	{
+		final Activity kept = Activity.values()[0];
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		final DataOutputStream out = new DataOutputStream(bytes);
+		out.writeByte(Base64.getUrlDecoder().decode(ProfileStore.encode(new ArrayList<>()))[0]);
+		out.writeShort(1);
+		out.writeUTF("Removed");
+		out.writeInt(0);
+		out.writeInt(1);
+		out.writeShort(2);
+		out.writeUTF("REMOVED_ACTIVITY");
+		out.writeUTF(kept.name());
+		out.writeShort(1);
+		out.writeUTF("REMOVED_ITEM");
+		out.writeShort(0);
+
+		final List<Profile> decoded = new ArrayList<>();
+		ProfileStore.decode(Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray()), decoded);
+
+		final Profile expected = new Profile("Removed");
+		expected.choose(kept);
+		assertProfileEquals(expected, decoded.get(0));
+		assertTrue(decoded.get(0).getIgnoredItems().isEmpty());
+	}
+
+	static Profile createProfile(final Random random, final String name)
+	{
+		final Profile profile = new Profile(name);
+		final Activity[] activities = Activity.values();
+		for (int i = 0; i < 50; i++)
+		{
+			profile.choose(activities[random.nextInt(activities.length)]);
+		}
+
+		final int itemCount = ExperienceItem.values().length;
+		for (int i = 0; i < 20; i++)
+		{
+			profile.getIgnoredItems().set(random.nextInt(itemCount));
+		}
+		// The last item changes the length of the bitset
+		profile.getIgnoredItems().set(itemCount - 1);
+
+		profile.getEnabledModifiers().add(Profile.modifierKey(Skill.PRAYER, "Zealot's robes"));
+		profile.getEnabledModifiers().add(Profile.modifierKey(Skill.CONSTRUCTION, "Bonus: 10%"));
+		profile.setBoost(random.nextInt(10));
+		profile.setXpMultiplier(1 + random.nextInt(10));
+		return profile;
+	}
+
+	static void assertProfileEquals(final Profile expected, final Profile actual)
+	{
+		assertEquals(expected.getName(), actual.getName());
+		assertEquals(expected.getBoost(), actual.getBoost());
+		assertEquals(expected.getXpMultiplier(), actual.getXpMultiplier());
+		assertArrayEquals(expected.getChoices(), actual.getChoices());
+		assertArrayEquals(expected.getSelections(), actual.getSelections());
+		assertEquals(expected.getIgnoredItems(), actual.getIgnoredItems());
+		assertEquals(expected.getEnabledModifiers(), actual.getEnabledModifiers());
+	}
+}
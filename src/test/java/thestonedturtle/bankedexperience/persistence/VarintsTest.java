@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2026, TheStonedTurtle <https://github.com/TheStonedTurtle>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package thestonedturtle.bankedexperience.persistence;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class VarintsTest
+{
+	private static final int[] INTS = {
+		0, 1, -1, 63, -64, 64, 127, 128, 300, 16_383, 16_384, -16_385, 2_147_483, Integer.MAX_VALUE, Integer.MIN_VALUE,
+	};
+	private static final long[] LONGS = {
+		0, 1, -1, 127, 128, Integer.MAX_VALUE, Integer.MIN_VALUE, 1_700_000_000_000L, -1_700_000_000_000L,
+		Long.MAX_VALUE, Long.MIN_VALUE,
+	};
+
+	@Test
+	public void testIntRoundTrip() throws IOException
+	{
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		for (final int value : INTS)
+		{
+			Varints.write(out, value);
+			Varints.write(out, Varints.zigZag(value));
+		}
+
+		final ByteBuffer in = ByteBuffer.wrap(out.toByteArray());
+		for (final int value : INTS)
+		{
+			assertEquals(value, Varints.read(in));
+			assertEquals(value, Varints.unZigZag(Varints.read(in)));
+		}
+		assertFalse(in.hasRemaining());
+	}
+
+	@Test
+	public void testLongRoundTrip() throws IOException
+	{
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		for (final long value : LONGS)
+		{
+			Varints.writeLong(out, value);
+			Varints.writeLong(out, Varints.zigZag(value));
+		}
+
+		final ByteBuffer in = ByteBuffer.wrap(out.toByteArray());
+		for (final long value : LONGS)
+		{
+			assertEquals(value, Varints.readLong(in));
+			assertEquals(value, Varints.unZigZag(Varints.readLong(in)));
+		}
+		assertFalse(in.hasRemaining());
+	}
+
+	@Test
+	public void testSmallValuesTakeOneByte()
+	{
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		Varints.write(out, 127);
+		Varints.write(out, Varints.zigZag(-64));
+		Varints.writeLong(out, Varints.zigZag(63L));
+		assertEquals(3, out.size());
+
+		Varints.write(out, 128);
+		assertEquals(5, out.size());
+	}
+
+	@Test(expected = IOException.class)
+	public void testTruncatedVarint() throws IOException
+	{
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		Varints.write(out, 300);
+		final ByteBuffer in = ByteBuffer.wrap(out.toByteArray(), 0, 1);
+		Varints.read(in);
+	}
+
+	@Test(expected = IOException.class)
+	public void testTooLongVarint() throws IOException
+	{
+		Varints.read(ByteBuffer.wrap(new byte[]{-1, -1, -1, -1, -1, 1}));
+	}
+}
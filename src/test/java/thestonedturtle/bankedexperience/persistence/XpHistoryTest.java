@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2026, TheStonedTurtle <https://github.com/TheStonedTurtle>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package thestonedturtle.bankedexperience.persistence;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import net.runelite.api.Skill;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class XpHistoryTest
+{
+	private static final long ACCOUNT = 1234;
+	private static final long OTHER_ACCOUNT = 5678;
+	private static final long MINUTE = TimeUnit.MINUTES.toMillis(1);
+	// midnight of the first of January 2026
+	private static final long START = 1_767_225_600_000L;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testClosedHistoryIsRead()
+	{
+		final Path directory = folder.getRoot().toPath();
+		final XpHistory history = new XpHistory(directory, 100);
+		history.record(ACCOUNT, Skill.HERBLORE, START, 100, 1);
+		history.record(ACCOUNT, Skill.HERBLORE, START + MINUTE, 200, 2);
+		history.record(ACCOUNT, Skill.PRAYER, START, 300, 3);
+		history.record(OTHER_ACCOUNT, Skill.HERBLORE, START, 400, 4);
+		history.close();
+
+		final XpHistory reopened = new XpHistory(directory, 100);
+		assertPoints(reopened.query(ACCOUNT, Skill.HERBLORE, Long.MIN_VALUE, Long.MAX_VALUE),
+			new long[]{START, START + MINUTE}, new long[]{100, 200});
+		assertPoints(reopened.query(ACCOUNT, Skill.PRAYER, Long.MIN_VALUE, Long.MAX_VALUE),
+			new long[]{START}, new long[]{300});
+		assertPoints(reopened.query(OTHER_ACCOUNT, Skill.HERBLORE, Long.MIN_VALUE, Long.MAX_VALUE),
+			new long[]{START}, new long[]{400});
+		assertEquals(0, reopened.query(ACCOUNT, Skill.COOKING, Long.MIN_VALUE, Long.MAX_VALUE).size());
+		reopened.close();
+	}
+
+	@Test
+	public void testJournalIsReplayed()
+	{
+		final Path directory = folder.getRoot().toPath();
+		final XpHistory history = new XpHistory(directory, 100);
+		for (int i = 0; i < 10; i++)
+		{
+			history.record(ACCOUNT, Skill.HERBLORE, START + i * MINUTE, i + 1, i);
+		}
+
+		// The client stopped without closing the history, so only the journal holds the points
+		final HistoryPoints points = new XpHistory(directory, 100).query(ACCOUNT, Skill.HERBLORE, Long.MIN_VALUE,
+			Long.MAX_VALUE);
+		assertEquals(10, points.size());
+		for (int i = 0; i < 10; i++)
+		{
+			assertEquals(START + i * MINUTE, points.getTimes()[i]);
+			assertEquals(i + 1, points.getXp()[i]);
+		}
+	}
+
+	@Test
+	public void testReplayAfterInterruptedCompactionIsIdempotent() throws IOException
+	{
+		final Path directory = folder.getRoot().toPath();
+		final Path journal = directory.resolve(ACCOUNT + ".history-journal");
+		final XpHistory history = new XpHistory(directory, 100);
+		history.record(ACCOUNT, Skill.HERBLORE, START, 100, 1);
+		history.record(ACCOUNT, Skill.HERBLORE, START + MINUTE, 200, 2);
+		// Only replaces the point of the last minute in memory, the journal still holds 200
+		history.record(ACCOUNT, Skill.HERBLORE, START + MINUTE + 30_000, 250, 3);
+		final byte[] records = Files.readAllBytes(journal);
+		history.close();
+
+		// The history file was written but the client stopped before the journal was emptied
+		Files.write(journal, records);
+		for (int i = 0; i < 2; i++)
+		{
+			final XpHistory reopened = new XpHistory(directory, 100);
+			assertPoints(reopened.query(ACCOUNT, Skill.HERBLORE, Long.MIN_VALUE, Long.MAX_VALUE),
+				new long[]{START, START + MINUTE}, new long[]{100, 250});
+			reopened.close();
+		}
+	}
+
+	@Test
+	public void testJournalIsCompacted() throws IOException
+	{
+		final Path directory = folder.getRoot().toPath();
+		final Path journal = directory.resolve(ACCOUNT + ".history-journal");
+		final XpHistory history = new XpHistory(directory, 3);
+		for (int i = 0; i < 3; i++)
+		{
+			history.record(ACCOUNT, Skill.HERBLORE, START + i * MINUTE, i + 1, i);
+		}
+		assertEquals(0, Files.size(journal));
+		assertTrue(Files.exists(directory.resolve(ACCOUNT + ".history")));
+
+		history.record(ACCOUNT, Skill.HERBLORE, START + 3 * MINUTE, 4, 3);
+		assertTrue(Files.size(journal) > 0);
+
+		assertPoints(new XpHistory(directory, 3).query(ACCOUNT, Skill.HERBLORE, Long.MIN_VALUE, Long.MAX_VALUE),
+			new long[]{START, START + MINUTE, START + 2 * MINUTE, START + 3 * MINUTE}, new long[]{1, 2, 3, 4});
+	}
+
+	@Test
+	public void testClosedHistoryIgnoresPoints()
+	{
+		final Path directory = folder.getRoot().toPath();
+		final XpHistory history = new XpHistory(directory, 100);
+		history.record(ACCOUNT, Skill.HERBLORE, START, 100, 1);
+		history.close();
+		history.record(ACCOUNT, Skill.HERBLORE, START + MINUTE, 200, 2);
+		assertEquals(0, history.query(ACCOUNT, Skill.HERBLORE, Long.MIN_VALUE, Long.MAX_VALUE).size());
+
+		assertPoints(new XpHistory(directory, 100).query(ACCOUNT, Skill.HERBLORE, Long.MIN_VALUE, Long.MAX_VALUE),
+			new long[]{START}, new long[]{100});
+	}
+
+	@Test
+	public void testRangeQuery()
+	{
+		final XpHistory history = new XpHistory(folder.getRoot().toPath(), 100);
+		for (int i = 0; i < 10; i++)
+		{
+			history.record(ACCOUNT, Skill.HERBLORE, START + i * MINUTE, i + 1, i);
+		}
+
+		assertPoints(history.query(ACCOUNT, Skill.HERBLORE, START + 3 * MINUTE, START + 5 * MINUTE),
+			new long[]{START + 3 * MINUTE, START + 4 * MINUTE, START + 5 * MINUTE}, new long[]{4, 5, 6});
+		assertEquals(0, history.query(ACCOUNT, Skill.HERBLORE, START + 10 * MINUTE, Long.MAX_VALUE).size());
+		history.close();
+	}
+
+	private static void assertPoints(final HistoryPoints points, final long[] times, final long[] xp)
+	{
+		assertArrayEquals(times, points.getTimes());
+		assertArrayEquals(xp, points.getXp());
+	}
+}
@@ -0,0 +1,239 @@
+/*
+ * Copyright (c) 2026, TheStonedTurtle <https://github.com/TheStonedTurtle>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package thestonedturtle.bankedexperience.report;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import net.runelite.api.Experience;
+import net.runelite.api.Skill;
+import org.junit.After;
+import org.junit.Test;
+import thestonedturtle.bankedexperience.data.Activity;
+import thestonedturtle.bankedexperience.data.ExperienceItem;
+import thestonedturtle.bankedexperience.data.ItemInfo;
+import thestonedturtle.bankedexperience.engine.BankedXpEngine;
+import thestonedturtle.bankedexperience.engine.BankedXpInput;
+import thestonedturtle.bankedexperience.engine.BankedXpResult;
+import thestonedturtle.bankedexperience.util.IntIntMap;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CsvReportWriterTest
+{
+	private static final int COLUMNS = 13;
+	static final ExperienceItem NAMED_ITEM = ExperienceItem.getBySkill(Skill.PRAYER).iterator().next();
+
+	@After
+	public void after()
+	{
+		NAMED_ITEM.setItemInfo(null);
+	}
+
+	@Test
+	public void testEmptySkillsOnlyWriteTotals() throws IOException
+	{
+		final List<List<String>> records = parse(write(createInput(new IntIntMap())));
+
+		assertEquals(1 + Activity.BANKABLE_SKILLS.size(), records.size());
+		assertEquals("type,skill,level,item_id,name,quantity,activity,xp_each,xp,ignored,required,available,shortfall",
+			String.join(",", records.get(0)));
+
+		int i = 1;
+		for (final Skill skill : Activity.BANKABLE_SKILLS)
+		{
+			assertEquals(Arrays.asList("total", skill.getName(), "1", "", "", "", "", "", "0.0", "", "", "", ""),
+				records.get(i++));
+		}
+	}
+
+	@Test
+	public void testRowsMatchTheEngine() throws IOException
+	{
+		final BankedXpInput input = createInput(createBank(new Random(0)));
+		final List<List<String>> records = parse(write(input));
+
+		int i = 1;
+		for (final Skill skill : Activity.BANKABLE_SKILLS)
+		{
+			final BankedXpResult result = BankedXpEngine.calculate(input, skill);
+			for (final BankedXpResult.Row row : result.getRows())
+			{
+				final List<String> record = records.get(i++);
+				assertEquals("item", record.get(0));
+				assertEquals(skill.getName(), record.get(1));
+				assertEquals(String.valueOf(row.getItem().getItemID()), record.get(3));
+				assertEquals(String.valueOf(row.getQty()), record.get(5));
+				assertEquals(String.valueOf(row.getXp()), record.get(8));
+				assertEquals(String.valueOf(row.isIgnored()), record.get(9));
+			}
+
+			for (final int itemId : result.getSecondaries().getContributions().keySet())
+			{
+				final List<String> record = records.get(i++);
+				assertEquals("secondary", record.get(0));
+				assertEquals(skill.getName(), record.get(1));
+				assertEquals(String.valueOf(itemId), record.get(3));
+				assertEquals(String.valueOf(result.getSecondaries().getRequired(itemId)), record.get(10));
+			}
+
+			final List<String> total = records.get(i++);
+			assertEquals("total", total.get(0));
+			assertEquals(skill.getName(), total.get(1));
+			assertEquals(String.valueOf(result.getTotalXp()), total.get(8));
+		}
+
+		assertEquals(records.size(), i);
+	}
+
+	@Test
+	public void testNamesAreEscaped() throws IOException
+	{
+		final IntIntMap bank = new IntIntMap();
+		bank.put(NAMED_ITEM.getItemID(), 10);
+		final BankedXpInput input = createInput(bank);
+
+		for (final String name : new String[]{"Plain name", "Bones, big", "\"Big\" bones", "Big\nbones", "Big\rbones",
+			"Big\r\nbones, \"burnt\""})
+		{
+			NAMED_ITEM.setItemInfo(new ItemInfo(name, false));
+			final String csv = write(input);
+
+			final List<String> item = parse(csv).stream()
+				.filter(r -> r.get(0).equals("item"))
+				.findFirst()
+				.orElseThrow(AssertionError::new);
+			assertEquals(name, item.get(4));
+			// Only names that need it are quoted
+			assertEquals(name.equals("Plain name"), csv.contains("," + name + ","));
+		}
+	}
+
+	static BankedXpInput createInput(final IntIntMap bank)
+	{
+		final Map<Skill, Integer> levels = new EnumMap<>(Skill.class);
+		final Map<Skill, Integer> experience = new EnumMap<>(Skill.class);
+		for (final Skill skill : Activity.BANKABLE_SKILLS)
+		{
+			levels.put(skill, 1);
+			experience.put(skill, Experience.getXpForLevel(1));
+		}
+
+		return new BankedXpInput(bank, new Activity[ExperienceItem.values().length], new BitSet(),
+			BankedXpEngine.resolveXpRates(Collections.emptyList()), levels, experience, 0, 1, false, false);
+	}
+
+	/**
+	 * A bank holding some of the items of every skill
+	 */
+	static IntIntMap createBank(final Random random)
+	{
+		final IntIntMap bank = new IntIntMap();
+		for (final ExperienceItem item : ExperienceItem.values())
+		{
+			if (random.nextInt(4) == 0)
+			{
+				bank.put(item.getItemID(), 1 + random.nextInt(5000));
+			}
+		}
+		return bank;
+	}
+
+	private static String write(final BankedXpInput input) throws IOException
+	{
+		final StringWriter out = new StringWriter();
+		try (ReportWriter writer = ReportWriter.create(ReportFormat.CSV, out))
+		{
+			for (final Skill skill : Activity.BANKABLE_SKILLS)
+			{
+				writer.write(BankedXpEngine.calculate(input, skill));
+			}
+		}
+		return out.toString();
+	}
+
+	/**
+	 * Reads back the records of a CSV file, quoted values may hold separators, quotes and line breaks
+	 */
+	private static List<List<String>> parse(final String csv)
+	{
+		final List<List<String>> records = new ArrayList<>();
+		List<String> record = new ArrayList<>();
+		final StringBuilder value = new StringBuilder();
+		boolean quoted = false;
+		for (int i = 0; i < csv.length(); i++)
+		{
+			final char c = csv.charAt(i);
+			if (quoted)
+			{
+				if (c != '"')
+				{
+					value.append(c);
+				}
+				else if (i + 1 < csv.length() && csv.charAt(i + 1) == '"')
+				{
+					value.append('"');
+					i++;
+				}
+				else
+				{
+					quoted = false;
+				}
+			}
+			else if (c == '"')
+			{
+				quoted = true;
+			}
+			else if (c == ',')
+			{
+				record.add(value.toString());
+				value.setLength(0);
+			}
+			else if (c == '\n')
+			{
+				record.add(value.toString());
+				value.setLength(0);
+				assertEquals(COLUMNS, record.size());
+				records.add(record);
+				record = new ArrayList<>();
+			}
+			else
+			{
+				assertTrue("unquoted carriage return", c != '\r');
+				value.append(c);
+			}
+		}
+
+		assertTrue(record.isEmpty() && value.length() == 0);
+		return records;
+	}
+}
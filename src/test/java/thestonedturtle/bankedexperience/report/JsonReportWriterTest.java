@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2026, TheStonedTurtle <https://github.com/TheStonedTurtle>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package thestonedturtle.bankedexperience.report;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Iterator;
+import java.util.Random;
+import net.runelite.api.Skill;
+import org.junit.After;
+import org.junit.Test;
+import thestonedturtle.bankedexperience.data.Activity;
+import thestonedturtle.bankedexperience.data.ItemInfo;
+import thestonedturtle.bankedexperience.engine.BankedXpEngine;
+import thestonedturtle.bankedexperience.engine.BankedXpInput;
+import thestonedturtle.bankedexperience.engine.BankedXpResult;
+import thestonedturtle.bankedexperience.util.IntIntMap;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static thestonedturtle.bankedexperience.report.CsvReportWriterTest.NAMED_ITEM;
+
+public class JsonReportWriterTest
+{
+	@After
+	public void after()
+	{
+		NAMED_ITEM.setItemInfo(null);
+	}
+
+	@Test
+	public void testEmptySkills() throws IOException
+	{
+		final JsonArray skills = write(CsvReportWriterTest.createInput(new IntIntMap()));
+
+		assertEquals(Activity.BANKABLE_SKILLS.size(), skills.size());
+		final Iterator<JsonElement> it = skills.iterator();
+		for (final Skill skill : Activity.BANKABLE_SKILLS)
+		{
+			final JsonObject o = it.next().getAsJsonObject();
+			assertEquals(skill.getName(), o.get("skill").getAsString());
+			assertEquals(1, o.get("level").getAsInt());
+			assertEquals(0, o.get("totalXp").getAsDouble(), 0);
+			assertEquals(0, o.getAsJsonArray("items").size());
+			assertEquals(0, o.getAsJsonArray("secondaries").size());
+		}
+	}
+
+	@Test
+	public void testSkillsMatchTheEngine() throws IOException
+	{
+		final BankedXpInput input = CsvReportWriterTest.createInput(CsvReportWriterTest.createBank(new Random(0)));
+		final JsonArray skills = write(input);
+
+		assertEquals(Activity.BANKABLE_SKILLS.size(), skills.size());
+		final Iterator<JsonElement> it = skills.iterator();
+		for (final Skill skill : Activity.BANKABLE_SKILLS)
+		{
+			final BankedXpResult result = BankedXpEngine.calculate(input, skill);
+			final JsonObject o = it.next().getAsJsonObject();
+			assertEquals(skill.getName(), o.get("skill").getAsString());
+			assertEquals(result.getTotalXp(), o.get("totalXp").getAsDouble(), 0);
+
+			final JsonArray items = o.getAsJsonArray("items");
+			assertEquals(result.getRows().size(), items.size());
+			for (int i = 0; i < items.size(); i++)
+			{
+				final BankedXpResult.Row row = result.getRows().get(i);
+				final JsonObject item = items.get(i).getAsJsonObject();
+				assertEquals(row.getItem().getItemID(), item.get("itemId").getAsInt());
+				assertEquals(row.getQty(), item.get("quantity").getAsInt());
+				assertEquals(row.getXp(), item.get("xp").getAsDouble(), 0);
+				assertEquals(row.isIgnored(), item.get("ignored").getAsBoolean());
+				if (row.getActivity() == null)
+				{
+					assertTrue(item.get("activity") == null || item.get("activity").isJsonNull());
+				}
+				else
+				{
+					assertEquals(row.getActivity().getName(), item.get("activity").getAsString());
+				}
+			}
+
+			final JsonArray secondaries = o.getAsJsonArray("secondaries");
+			assertEquals(result.getSecondaries().getContributions().keySet().size(), secondaries.size());
+			int i = 0;
+			for (final int itemId : result.getSecondaries().getContributions().keySet())
+			{
+				final JsonObject secondary = secondaries.get(i++).getAsJsonObject();
+				assertEquals(itemId, secondary.get("itemId").getAsInt());
+				assertEquals(result.getSecondaries().getRequired(itemId), secondary.get("required").getAsDouble(), 0);
+				assertEquals(result.getSecondaries().getAvailable(itemId), secondary.get("available").getAsInt());
+			}
+		}
+	}
+
+	@Test
+	public void testNamesAreEscaped() throws IOException
+	{
+		final IntIntMap bank = new IntIntMap();
+		bank.put(NAMED_ITEM.getItemID(), 10);
+		final BankedXpInput input = CsvReportWriterTest.createInput(bank);
+
+		for (final String name : new String[]{"Bones, big", "\"Big\" bones", "Big\\bones", "Big\nbones", "Big\rbones",
+			"Big\tbones", "Big\u0000\u0001\u001fbones", "Big\u2028bones"})
+		{
+			NAMED_ITEM.setItemInfo(new ItemInfo(name, false));
+			final StringWriter out = new StringWriter();
+			try (ReportWriter writer = ReportWriter.create(ReportFormat.JSON, out))
+			{
+				writer.write(BankedXpEngine.calculate(input, NAMED_ITEM.getSkill()));
+			}
+
+			final String json = out.toString();
+			// Control characters are never written as they are
+			for (int i = 0; i < json.length(); i++)
+			{
+				assertFalse(json.charAt(i) < 0x20 && json.charAt(i) != '\n');
+			}
+
+			final JsonObject item = JsonParser.parseString(json).getAsJsonArray().get(0).getAsJsonObject()
+				.getAsJsonArray("items").get(0).getAsJsonObject();
+			assertEquals(name, item.get("name").getAsString());
+		}
+	}
+
+	private static JsonArray write(final BankedXpInput input) throws IOException
+	{
+		final StringWriter out = new StringWriter();
+		try (ReportWriter writer = ReportWriter.create(ReportFormat.JSON, out))
+		{
+			for (final Skill skill : Activity.BANKABLE_SKILLS)
+			{
+				writer.write(BankedXpEngine.calculate(input, skill));
+			}
+		}
+		return JsonParser.parseString(out.toString()).getAsJsonArray();
+	}
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2026, TheStonedTurtle <https://github.com/TheStonedTurtle>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package thestonedturtle.bankedexperience.sources;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import net.runelite.api.Client;
+import net.runelite.api.EnumComposition;
+import net.runelite.api.EnumID;
+import net.runelite.api.ScriptID;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Times rebuilding the potion storage with the potion enums resolved once, against resolving them on every rebuild
+ * which is what happened before they were cached. The client is a stand-in that answers from maps, so the times only
+ * show the work done by the plugin. Only runs when the benchmark system property is set, see build.gradle.
+ */
+public class PotionStorageBenchmarkTest
+{
+	private static final Logger log = LoggerFactory.getLogger(PotionStorageBenchmarkTest.class);
+
+	private static final int POTIONS = 80;
+	private static final int UNFINISHED_POTIONS = 20;
+	private static final int FIRST_POTION_ENUM = 5000;
+	private static final int FIRST_ITEM_ID = 20_000;
+	private static final int WARMUP = 20_000;
+	private static final int ROUNDS = 20_000;
+
+	private final Map<Integer, EnumComposition> enums = new HashMap<>();
+	private final int[] intStack = new int[1];
+	private int enumLookups;
+	private final Client client = client();
+
+	@Test
+	public void benchmarkRebuild()
+	{
+		assumeTrue(Boolean.getBoolean("benchmark"));
+
+		final PotionStorage cached = new PotionStorage(client);
+		final SourceSlots expected = rebuild(cached);
+		enumLookups = 0;
+		final long cachedNanos = time(() -> rebuild(cached), expected);
+		assertEquals(0, enumLookups);
+
+		// A new storage has to resolve the enums again, as every rebuild did before
+		final long uncachedNanos = time(() -> rebuild(new PotionStorage(client)), expected);
+		assertEquals((long) (WARMUP + ROUNDS) * (2 + POTIONS + UNFINISHED_POTIONS), enumLookups);
+
+		log.info("Rebuilt {} potions in {}ns with cached enums and {}ns resolving them every rebuild",
+			POTIONS + UNFINISHED_POTIONS, cachedNanos, uncachedNanos);
+	}
+
+	/**
+	 * @return the average time of a single rebuild in nanoseconds
+	 */
+	private long time(final Rebuild rebuild, final SourceSlots expected)
+	{
+		long nanos = 0;
+		for (int i = 0; i < WARMUP + ROUNDS; i++)
+		{
+			final long start = System.nanoTime();
+			final SourceSlots slots = rebuild.run();
+			if (i >= WARMUP)
+			{
+				nanos += System.nanoTime() - start;
+			}
+			assertEquals(expected.getFingerprint(), slots.getFingerprint());
+			assertArrayEquals(expected.getIds(), slots.getIds());
+			assertArrayEquals(expected.getQtys(), slots.getQtys());
+		}
+		return nanos / ROUNDS;
+	}
+
+	private SourceSlots rebuild(final PotionStorage storage)
+	{
+		storage.varpChanged(0);
+		storage.poll(client);
+		final SourceSlots slots = new SourceSlots();
+		storage.read(client, slots);
+		return slots;
+	}
+
+	private interface Rebuild
+	{
+		SourceSlots run();
+	}
+
+	private Client client()
+	{
+		final int[] potions = new int[POTIONS];
+		final int[] unfinishedPotions = new int[UNFINISHED_POTIONS];
+		for (int i = 0; i < POTIONS + UNFINISHED_POTIONS; i++)
+		{
+			final int potionEnumId = FIRST_POTION_ENUM + i;
+			if (i < POTIONS)
+			{
+				potions[i] = potionEnumId;
+			}
+			else
+			{
+				unfinishedPotions[i - POTIONS] = potionEnumId;
+			}
+			// key 1 holds the 1-dose variant of the potion
+			enums.put(potionEnumId, enumComposition(new int[]{FIRST_ITEM_ID + i * 4}));
+		}
+		enums.put(EnumID.POTIONSTORE_POTIONS, enumComposition(potions));
+		enums.put(EnumID.POTIONSTORE_UNFINISHED_POTIONS, enumComposition(unfinishedPotions));
+
+		return (Client) Proxy.newProxyInstance(Client.class.getClassLoader(), new Class<?>[]{Client.class},
+			(proxy, method, args) ->
+			{
+				switch (method.getName())
+				{
+					case "getEnum":
+						enumLookups++;
+						return enums.get((int) args[0]);
+					case "runScript":
+						final Object[] script = (Object[]) args[0];
+						assertEquals(ScriptID.POTIONSTORE_DOSES, script[0]);
+						// Every third potion is missing from the storage
+						final int potion = (int) script[1] - FIRST_POTION_ENUM;
+						intStack[0] = potion % 3 == 0 ? 0 : potion * 10;
+						return null;
+					case "getIntStack":
+						return intStack;
+					default:
+						throw new UnsupportedOperationException(method.getName());
+				}
+			});
+	}
+
+	/**
+	 * @param values the int values of the enum, the first value is stored under key 1
+	 */
+	private static EnumComposition enumComposition(final int[] values)
+	{
+		return (EnumComposition) Proxy.newProxyInstance(EnumComposition.class.getClassLoader(),
+			new Class<?>[]{EnumComposition.class}, (proxy, method, args) ->
+			{
+				switch (method.getName())
+				{
+					case "getIntVals":
+						return values;
+					case "getIntValue":
+						return values[(int) args[0] - 1];
+					default:
+						throw new UnsupportedOperationException(method.getName());
+				}
+			});
+	}
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2026, TheStonedTurtle <https://github.com/TheStonedTurtle>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package thestonedturtle.bankedexperience.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class IntDoubleMapTest
+{
+	@Test
+	public void testPutGetAdd()
+	{
+		final IntDoubleMap map = new IntDoubleMap();
+		map.put(227, 1.5);
+		map.add(227, 2);
+		map.add(233, 0.25);
+
+		assertEquals(2, map.size());
+		assertEquals(3.5, map.get(227), 0);
+		assertEquals(0.25, map.get(233), 0);
+		assertEquals(0, map.get(1), 0);
+		assertTrue(map.containsKey(233));
+		assertFalse(map.containsKey(1));
+
+		map.put(227, 1);
+		assertEquals(1, map.get(227), 0);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testRejectsFreeKey()
+	{
+		new IntDoubleMap().add(Integer.MIN_VALUE, 1);
+	}
+
+	@Test
+	public void testRehashesMatchHashMap()
+	{
+		final Random random = new Random(0);
+		final IntDoubleMap map = new IntDoubleMap(2);
+		final Map<Integer, Double> expected = new HashMap<>();
+		for (int i = 0; i < 100_000; i++)
+		{
+			final int key = random.nextInt(8192) - 64;
+			final double value = random.nextInt(100) / 4d;
+			if (random.nextBoolean())
+			{
+				map.put(key, value);
+				expected.put(key, value);
+			}
+			else
+			{
+				map.add(key, value);
+				expected.merge(key, value, Double::sum);
+			}
+		}
+
+		assertEquals(expected.size(), map.size());
+		final Map<Integer, Double> seen = new HashMap<>();
+		map.forEach(seen::put);
+		assertEquals(expected, seen);
+	}
+
+	@Test
+	public void testClearKeepsMapUsable()
+	{
+		final IntDoubleMap map = new IntDoubleMap(4);
+		for (int i = 0; i < 100; i++)
+		{
+			map.put(i, i);
+		}
+
+		map.clear();
+		assertTrue(map.isEmpty());
+		assertFalse(map.containsKey(50));
+
+		map.add(50, 2);
+		assertEquals(1, map.size());
+		assertEquals(2, map.get(50), 0);
+	}
+}
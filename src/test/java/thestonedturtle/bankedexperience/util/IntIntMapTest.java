@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2026, TheStonedTurtle <https://github.com/TheStonedTurtle>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package thestonedturtle.bankedexperience.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class IntIntMapTest
+{
+	@Test
+	public void testPutGetRemove()
+	{
+		final IntIntMap map = new IntIntMap();
+		map.put(995, 10);
+		map.put(560, 20);
+		map.put(995, 30);
+
+		assertEquals(2, map.size());
+		assertEquals(30, map.get(995));
+		assertEquals(20, map.get(560));
+		assertEquals(0, map.get(1));
+		assertEquals(-1, map.getOrDefault(1, -1));
+		assertTrue(map.containsKey(560));
+
+		map.remove(560);
+		map.remove(1);
+		assertEquals(1, map.size());
+		assertFalse(map.containsKey(560));
+		assertEquals(30, map.get(995));
+	}
+
+	@Test
+	public void testAddRemovesZeroedEntries()
+	{
+		final IntIntMap map = new IntIntMap();
+		assertEquals(5, map.add(532, 5));
+		assertEquals(2, map.add(532, -3));
+		assertEquals(0, map.add(532, -2));
+		assertFalse(map.containsKey(532));
+		assertEquals(0, map.add(536, 0));
+		assertTrue(map.isEmpty());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testRejectsFreeKey()
+	{
+		new IntIntMap().put(Integer.MIN_VALUE, 1);
+	}
+
+	@Test
+	public void testClearKeepsMapUsable()
+	{
+		final IntIntMap map = new IntIntMap(4);
+		for (int i = 0; i < 100; i++)
+		{
+			map.put(i, i);
+		}
+
+		map.clear();
+		assertTrue(map.isEmpty());
+		assertFalse(map.containsKey(50));
+
+		map.put(50, 1);
+		assertEquals(1, map.size());
+		assertEquals(1, map.get(50));
+	}
+
+	/**
+	 * Removals shift the following entries back instead of leaving tombstones, so mixing them with growth must never
+	 * lose an entry or leave a stale one behind
+	 */
+	@Test
+	public void testRemovalsAndRehashesMatchHashMap()
+	{
+		final Random random = new Random(0);
+		final IntIntMap map = new IntIntMap(2);
+		final Map<Integer, Integer> expected = new HashMap<>();
+		for (int i = 0; i < 200_000; i++)
+		{
+			// Few distinct keys so the same slots are removed and reused over and over
+			final int key = random.nextInt(i < 100_000 ? 512 : 4096) - 64;
+			switch (random.nextInt(4))
+			{
+				case 0:
+					map.put(key, i);
+					expected.put(key, i);
+					break;
+				case 1:
+					map.remove(key);
+					expected.remove(key);
+					break;
+				default:
+					final int delta = random.nextInt(5) - 2;
+					final int value = expected.getOrDefault(key, 0) + delta;
+					if (value == 0)
+					{
+						expected.remove(key);
+					}
+					else
+					{
+						expected.put(key, value);
+					}
+					assertEquals(value, map.add(key, delta));
+			}
+
+			if (i % 10_000 == 0)
+			{
+				assertMatches(expected, map);
+			}
+		}
+
+		assertMatches(expected, map);
+	}
+
+	@Test
+	public void testPutAll()
+	{
+		final IntIntMap source = new IntIntMap();
+		source.put(1, 1);
+		source.put(2, 2);
+		final IntIntMap map = new IntIntMap();
+		map.put(2, 5);
+		map.put(3, 3);
+		map.putAll(source);
+
+		assertEquals(3, map.size());
+		assertEquals(1, map.get(1));
+		assertEquals(2, map.get(2));
+		assertEquals(3, map.get(3));
+	}
+
+	@Test
+	public void testAddAll()
+	{
+		final IntIntMap source = new IntIntMap();
+		source.put(1, 1);
+		source.put(2, 2);
+		source.put(3, -3);
+		final IntIntMap map = new IntIntMap();
+		map.put(2, 5);
+		map.put(3, 3);
+		map.addAll(source);
+
+		assertEquals(2, map.size());
+		assertEquals(1, map.get(1));
+		assertEquals(7, map.get(2));
+		assertFalse(map.containsKey(3));
+	}
+
+	private static void assertMatches(final Map<Integer, Integer> expected, final IntIntMap map)
+	{
+		assertEquals(expected.size(), map.size());
+		for (final Map.Entry<Integer, Integer> entry : expected.entrySet())
+		{
+			assertEquals((int) entry.getValue(), map.get(entry.getKey()));
+		}
+
+		final Map<Integer, Integer> seen = new HashMap<>();
+		map.forEach(seen::put);
+		assertEquals(expected, seen);
+	}
+}